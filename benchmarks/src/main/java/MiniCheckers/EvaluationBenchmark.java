@@ -0,0 +1,52 @@
+package MiniCheckers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This file defines the class EvaluationBenchmark, the cost of the evaluation function of each difficulty level
+ * on the positions of SearchPositions.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+	@Param({"opening", "midgame1", "endgame1"})
+	String position;
+
+	@Param({"1", "2", "3"})
+	int difficultylevel;
+
+	private Search s;
+	private Position p;
+
+	@Setup
+	public void setup(){
+		p = SearchPositions.position(java.util.Arrays.asList(SearchPositions.NAMES).indexOf(position));
+		s = new Search(0, p, difficultylevel, new TranspositionTable(1), 0, new AtomicBoolean(false));
+	}
+
+	@Benchmark
+	public int evaluation(){
+		return s.evaluation(p, false);
+	}
+}
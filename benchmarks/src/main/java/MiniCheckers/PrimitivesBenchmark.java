@@ -0,0 +1,114 @@
+package MiniCheckers;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This file defines the class PrimitivesBenchmark, the cost of the rules of the game on the positions of SearchPositions.
+ * Each primitive is measured in the int[][] form used by the GUI (class Checkers) and in the bitboard
+ * form used by the search (class Position).
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitivesBenchmark {
+
+	@Param({"opening", "midgame1", "midgame2", "midgame3", "endgame1", "endgame2", "endgame3"})
+	String position;
+
+	private Checkers c;
+	private int[][] board;
+	private Position p;
+	private int[] acts;
+	private int act;
+	private int[] startpos;
+	private int[] destpos;
+
+	@Setup
+	public void setup(){
+		c = new Checkers();
+		board = SearchPositions.board(java.util.Arrays.asList(SearchPositions.NAMES).indexOf(position));
+		p = new Position(board);
+		acts = new int[p.getGeometry().getMaxmoves()];
+
+		// the first legal computer move
+		p.possibleActs(true, acts);
+		act = acts[0];
+		Geometry g = p.getGeometry();
+		startpos = new int[]{g.row(Position.from(act)), g.col(Position.from(act))};
+		destpos = new int[]{g.row(Position.to(act)), g.col(Position.to(act))};
+	}
+
+	@Benchmark
+	public int[][] boardMove(){
+		return c.Move(board, Checkerboard.COMPUTER, startpos, destpos);
+	}
+
+	@Benchmark
+	public Position positionMove(){
+		return p.Move(act, true);
+	}
+
+	@Benchmark
+	public int positionMakeUnmake(){
+		int captured = p.make(act, true);
+		p.unmake(act, true, captured);
+		return captured;
+	}
+
+	@Benchmark
+	public int[][] boardMovablePieces(){
+		return c.movablePieces(board, true);
+	}
+
+	@Benchmark
+	public long positionMovablePieces(){
+		return p.movablePieces(true);
+	}
+
+	/**
+	 * all the computer actions the way the GUI finds them: possibleActs() on each movable piece
+	 */
+	@Benchmark
+	public ArrayList<int[]> boardPossibleActs(){
+		ArrayList<int[]> list = new ArrayList<int[]>();
+		int[][] movable = c.movablePieces(board, true);
+		for(int n = 0; n < movable.length && movable[n][0] != -1; n++){
+			c.possibleActs(board, true, n, movable[n][0], movable[n][1], list);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public int positionPossibleActs(){
+		return p.possibleActs(true, acts);
+	}
+
+	@Benchmark
+	public int boardTerminalTest(){
+		return c.terminalTest(board);
+	}
+
+	@Benchmark
+	public int positionTerminalTest(){
+		return p.terminalTest();
+	}
+}
@@ -0,0 +1,65 @@
+package MiniCheckers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This file defines the class SearchBenchmark, the cost of a full alphaBetaSearch() on the positions of SearchPositions.
+ *
+ * The search is limited by depth instead of time (Checkers.depthlimit) and starts from an empty
+ * transposition table, so every invocation searches the same tree. The difficulty level is hard.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+	@Param({"opening", "midgame1", "midgame2", "midgame3", "endgame1", "endgame2", "endgame3"})
+	String position;
+
+	@Param({"12"})
+	int depth;
+
+	private Checkers c;
+	private int[][] board;
+	private int[][] work = new int[6][6];
+
+	@Setup
+	public void setup(){
+		c = new Checkers();
+		c.difficultylevel = 3;
+		c.engine = new Engine(c.difficultylevel);
+		c.depthlimit = depth;
+		c.timebudget = SearchLimits.NOTIMELIMIT;
+		board = SearchPositions.board(java.util.Arrays.asList(SearchPositions.NAMES).indexOf(position));
+	}
+
+	@Setup(Level.Invocation)
+	public void clearTable(){
+		c.engine.clear();
+		Checkers.copyarray(board, work); // the search changes the board when the computer has to pass
+	}
+
+	@Benchmark
+	public int[][] alphaBetaSearch(){
+		return c.alphaBetaSearch(work);
+	}
+}
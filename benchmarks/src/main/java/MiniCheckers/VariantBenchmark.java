@@ -0,0 +1,98 @@
+package MiniCheckers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This file defines the class VariantBenchmark, how the speed of the rules and the search scales with the size of the board.
+ *
+ * For the 6x6, 8x8 and 10x10 boards (see Geometry), from the start position with the computer to move:
+ *   - perft: perft of a fixed depth (see class Perft), the positions counter is in positions/s
+ *   - search: one Search worker to a fixed cutoff level from an empty transposition table, the nodes counter
+ *     (nodes and quiescence nodes) is in nodes/s
+ * All the sizes run the same Position and Search as the game, so the 6x6 results match SearchBenchmark.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VariantBenchmark {
+
+	/**
+	 * This class defines the counters reported per second next to the operations
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+
+		public long positions;
+		public long nodes;
+
+		@Setup(Level.Iteration)
+		public void reset(){
+			positions = 0;
+			nodes = 0;
+		}
+	}
+
+	@Param({"6", "8", "10"})
+	int size;
+
+	@Param({"7"})
+	int perftdepth;
+
+	@Param({"10"})
+	int depth;
+
+	private Position start;
+	private Perft perft;
+	private TranspositionTable tt;
+
+	@Setup
+	public void setup(){
+		Geometry g = Geometry.of(size);
+		start = Position.start(g);
+		perft = new Perft(g, perftdepth);
+		tt = new TranspositionTable(Checkers.TTBITS);
+	}
+
+	@Benchmark
+	public long perft(Counters counters){
+		long count = perft.perft(start, true, perftdepth);
+		counters.positions += count;
+		return count;
+	}
+
+	@Setup(Level.Invocation)
+	public void clearTable(){
+		tt.clear();
+	}
+
+	@Benchmark
+	public int search(Counters counters){
+		Search search = new Search(0, start, 3, tt, Long.MAX_VALUE, new AtomicBoolean(false));
+		search.depthlimit = depth;
+		search.run();
+		counters.nodes += search.stats.getNodes() + search.stats.getQnodes();
+		return search.bestact;
+	}
+}
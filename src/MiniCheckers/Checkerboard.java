@@ -25,6 +25,7 @@ class Frame extends JFrame{
 	public JButton btn1 = new JButton("Easy");
 	public JButton btn2 = new JButton("Medium");
 	public JButton btn3 = new JButton("Hard");
+	public JButton btnmove = new JButton("Move now"); // the computer stops thinking and takes its best move so far
 	
 	public Frame(DrawBoard b){
 		this.setSize(FSIZE, FSIZE);
@@ -34,6 +35,7 @@ class Frame extends JFrame{
 		bottomPanel.add(btn1);
 		bottomPanel.add(btn2);
 		bottomPanel.add(btn3);
+		bottomPanel.add(btnmove);
 		
 		// instantiate the the buttons
         JPanel mainPanel = new JPanel();
@@ -90,8 +92,19 @@ public class Checkerboard {
 	final static public int EMPTY = 0;
 	final static public int HTOEND = 3; //Reach the end, human piece no move to take
 	final static public int CTOEND = -3; // Reach the end, computer piece no move to take
-	
-	int[][] board = new int[6][6];
+
+	/**
+	 * Define the size of the board:
+	 * SIZE : the board has SIZE x SIZE squares; the game is played on the 6x6 board, the search (class Position)
+	 *        also plays the other sizes of Geometry
+	 * STARTROWS : each player starts on the STARTROWS rows next to its edge
+	 * PIECES : the number of pieces of each player at the start
+	 */
+	final static public int SIZE = 6;
+	final static public int STARTROWS = (SIZE - 2) / 2;
+	final static public int PIECES = STARTROWS * SIZE / 2;
+
+	int[][] board = new int[SIZE][SIZE];
 	
 	Checkerboard(){
 		super();
@@ -108,13 +121,13 @@ public class Checkerboard {
 	
 	public void init(){ 
 		int[][] tempboard = this.board;
-		for(int row = 0; row < 6; row++){
-			for(int col = 0; col < 6; col++){
+		for(int row = 0; row < SIZE; row++){
+			for(int col = 0; col < SIZE; col++){
 				if(row % 2 != col % 2){
-					if(row < 2){
+					if(row < STARTROWS){
 						tempboard[row][col] = Checkerboard.COMPUTER; 
 					} 
-					else if(row > 3){
+					else if(row >= SIZE - STARTROWS){
 						tempboard[row][col] = Checkerboard.HUMAN;
 					}
 					else{
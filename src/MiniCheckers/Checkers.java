@@ -2,11 +2,17 @@ package MiniCheckers;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
 
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 
 /**
  * 
@@ -22,6 +28,9 @@ import javax.swing.JOptionPane;
  */
 
 public class Checkers {
+
+	final static private Logger LOG = Logger.getLogger(Checkers.class.getName());
+
 	/**
 	 * Define utility values of terminal state(node) is: 
 	 * 		computer win = 1000
@@ -37,13 +46,17 @@ public class Checkers {
 	 * NONTERMINAL : indicates this node is not a terminal node
 	 * INF/NINF : use 10000 and -10000 to indicates the positive infinite and negative infinite 
 	 * CHANGETURN : indicates the player(human or computer) has no any legal move in current turn
-	 * CUTOFF : set cutoff level to be 23 to make sure the Alpha-Beta Search Algorithm can be finished in 15 seconds
+	 * MAXDEPTH : the deepest cutoff level the iterative deepening may reach, no game lasts that many levels
+	 * TIMEBUDGET : the default time (in milliseconds) the computer may think about one move
+	 * TTBITS : the transposition table has 2^TTBITS entries
 	 */
 	final static public int NONTERMINAL = 4;
 	final static public int INF = 10000;
 	final static public int NINF = -10000;
 	final static public int CHANGETURN = -50;
-	final static public int CUTOFF = 23;
+	final static public int MAXDEPTH = 64;
+	final static public long TIMEBUDGET = 5000;
+	final static public int TTBITS = 20;
 	
 	//Array bestnextmove[][] stores the next best move : (bestnextmove[0][0],bestnextmove[0][1]) -> (bestnextmove[1][0],bestnextmove[1][1])	 
 	int[][] bestnextmove = {{-1,-1},{-1,-1}};
@@ -51,10 +64,48 @@ public class Checkers {
 	// difficultylevel indicates the level of difficulty that human player choose, default is 1(easy).
 	int difficultylevel = 1;
 	
-	static int maxdepth = 0;
-	static int nodes = 0;
-	static int maxprun = 0;
-	static int minprun = 0;
+	// engine searches the computer moves and keeps its transposition table across the moves of a game; it is created by the first search
+	Engine engine = null;
+	
+	/**
+	 * timebudget : the time (in milliseconds) the computer may think about one move
+	 * threads : the number of workers searching in parallel, 1 means the search runs on the calling thread only
+	 * depthlimit : the deepest cutoff level the search may reach, e.g. to search a fixed tree in the benchmarks
+	 */
+	long timebudget = Checkers.TIMEBUDGET;
+	int threads = 1;
+	int depthlimit = Checkers.MAXDEPTH;
+	
+	/**
+	 * ponder : think on the human's time (see class Ponder)
+	 * ponderer : the pondering since the last computer move, null if none
+	 * reply : the human reply the last search expects, 0 if none
+	 */
+	boolean ponder = true;
+	Ponder ponderer = null;
+	int reply = 0;
+	
+	/**
+	 * progress : receives the progress of the computer's searches on the event dispatch thread, null if none
+	 * searching : the running search of the computer, null if none; moveNow() stops it
+	 */
+	SearchListener progress = null;
+	volatile SearchHandle searching = null;
+	
+	// runs the updates of the searches on the event dispatch thread
+	final static private Executor EDT = new Executor(){
+		@Override
+		public void execute(Runnable r){
+			SwingUtilities.invokeLater(r);
+		}
+	};
+	
+	// the endgame bitbase and the opening book loaded at startup, null if there is none
+	EndgameBitbase bitbase = null;
+	OpeningBook book = null;
+	
+	// statistics of the last search, summed over its workers
+	SearchStats stats = new SearchStats();
 	
 	/**
 	 * Function printCheckerboard(): print the current checkerboard
@@ -66,9 +117,9 @@ public class Checkers {
 	 */
 	public static void printCheckerboard(int[][] board){
 		System.out.print("Checkers Position:");		
-		for(int row = 0; row < 6; row++){
+		for(int row = 0; row < Checkerboard.SIZE; row++){
 			System.out.println();
-			for(int col = 0; col < 6; col++){
+			for(int col = 0; col < Checkerboard.SIZE; col++){
 				if(board[row][col] == Checkerboard.HUMAN){
 					System.out.print("H");
 				}
@@ -98,41 +149,9 @@ public class Checkers {
 	 * @return the next state(checkerboard) given the current state and action to be applied
 	 */	
 	public int[][] Move(int[][] startb, int player, int[] startpos, int[] destpos) {
-
-		int[][] m = new int[6][6];
-		copyarray(startb,m);
-		
-		if(destpos[0] == 0){ // Human piece reach to the end
-			m[destpos[0]][destpos[1]] = Checkerboard.HTOEND;
-		}
-		else if(destpos[0] == 5){ // Computer piece reach to the end
-			m[destpos[0]][destpos[1]] = Checkerboard.CTOEND;
-		}
-		else{
-			m[destpos[0]][destpos[1]] = m[startpos[0]][startpos[1]];
-		}
-		
-		if(Math.abs(startpos[0] - destpos[0]) == 2){ //check if there is a capture move(jump)
-			if(player == Checkerboard.HUMAN){ //Human jump
-				if(startpos[1] > destpos[1]){
-					m[startpos[0]-1][startpos[1]-1] = Checkerboard.EMPTY;
-				}
-				else{
-					m[startpos[0]-1][startpos[1]+1] = Checkerboard.EMPTY;
-				}
-			}
-			else{// Computer jump
-				if(startpos[1] > destpos[1]){
-					m[startpos[0]+1][startpos[1]-1] = Checkerboard.EMPTY;
-				}
-				else{
-					m[startpos[0]+1][startpos[1]+1] = Checkerboard.EMPTY;
-				}
-			}
-		}		
-		m[startpos[0]][startpos[1]] = Checkerboard.EMPTY;		
-			
-		return m;
+		Position p = new Position(startb);
+		int act = p.act(startpos, destpos); // a jump if it goes two rows
+		return p.Move(act, player == Checkerboard.COMPUTER).toBoard();
 	}
 
 	/**
@@ -142,207 +161,118 @@ public class Checkers {
 	 * initially:
 	 * 		beta = maximum_utility = 12 and alpha = minimum_utility = -12
 	 * 		the root node be level 0
+	 * The search itself is run by the engine (see class Engine) at the chosen difficulty level,
+	 * within timebudget, threads and depthlimit. The statistics of the search are kept in stats.
+	 * If the engine pondered on the expected human move and the human played it, the pondering search is taken instead.
+	 * Otherwise the search can be stopped early by moveNow(), and reports each completed iteration to progress.
 	 */
 	public int[][] alphaBetaSearch(int[][] b) {
-		int level = 0;
-		
-		int v = maxValue(b, Checkers.HUMANWIN, Checkers.COMPUTERWIN, level);
-		
-		System.out.println("bestnextmove:");
-		System.out.println("["+bestnextmove[0][0]+","+bestnextmove[0][1]+"] -> ["+bestnextmove[1][0]+","+bestnextmove[1][1]+"]");
-		
-		if(v != Checkers.CHANGETURN){
-			int[][] nextstate = Move(b, Checkerboard.COMPUTER, bestnextmove[0], bestnextmove[1]);
-			return nextstate;
+		Position root = new Position(b);
+		SearchResult result = null;
+		if(ponderer != null){ // the search on the human's time, its result on a ponder hit
+			result = ponderer.finish(root);
+			ponderer = null;
 		}
-		else{
-			return b;
+		if(engine == null || engine.getDifficultylevel() != difficultylevel){ // the stored values depend on the evaluation function
+			engine = new Engine(difficultylevel);
+			engine.setBitbase(bitbase);
+			engine.setBook(book);
+			result = null;
 		}
-	}
-
-	public int maxValue(int[][] b, int alpha, int beta, int level) {//computer
-		nodes++;
-		boolean myturn = true;
-		
-		int utility = terminalTest(b);
-		if(utility != Checkers.NONTERMINAL){
-			maxdepth = Max(maxdepth,level);
-			return utility;
-		}
-		if(level == Checkers.CUTOFF){ // Cut off
-			return evaluation(b,true);
-		}		
-
-		int v = Checkers.NINF;
-		int tempv = v;
-		int[][] newb = new int[6][6];
-		int[][] movablepieces = movablePieces(b, true);
-		boolean jumpmove = false;
-		ArrayList<int[]> acts = new ArrayList<int[]>();			
-		
-		// get all the computer's actions in the current state
-		for(int i = 0; i < 6; i++){
-			if(movablepieces[i][0] == -1){
-				break;	
-			}
-			possibleActs(b, true, i, movablepieces[i][0], movablepieces[i][1], acts);
+		if(result != null){
+			LOG.fine("Ponder hit");
 		}
-				
-		// Checker if the computer has no any legal move to take
-		if(acts.size() == 0){
-			for(int i = 0; i < 6; i++){
-				if(movablepieces[i][0] == -1){
-					break;
-				}
-				b[movablepieces[i][0]][movablepieces[i][1]] = Checkerboard.CTOEND;
+		else{
+			SearchHandle h = engine.newSearch(root, true, limits());
+			if(progress != null){
+				h.subscribe(progress, EDT);
 			}
-			myturn = false;
-		}
-		// current board for this player has no any legal move, need to change turn.
-		if(!myturn){
-			if(level == 0){ 
-				return Checkers.CHANGETURN;
+			searching = h;
+			h.run();
+			searching = null;
+			try {
+				result = h.get();
+			} catch (InterruptedException | ExecutionException e) { // the search has finished, so only a failure of the search gets here
+				throw new IllegalStateException(e);
 			}
-			v = minValue(b, alpha, beta, level+1);
-			return v;
-
 		}
-			
-		//Check if have jump actions, because jump move must be taken	
-		for(int i = acts.size()-1; i >= 0; i--){
-			int[] temp = acts.get(i);
-			if(temp[3] == 1){
-				jumpmove = true;
-				break;
-			}
-		}
-		if(jumpmove){ // jump must be taken, so remove all the regular move in acts
-			for(int i = acts.size()-1; i >= 0; i--){
-				if(acts.get(i)[3] == 0){
-					acts.remove(i);
-				}
-			}
+		stats = result.getStats();
+		reply = result.getReply();
+		if(stats.bookmove){
+			LOG.fine("Move from the opening book");
 		}
-			
-		int[] destpos = new int[2];
-		int a = 0;
-		for(a = 0; a < acts.size(); a++){
-			destpos[0] = acts.get(a)[1];
-			destpos[1] = acts.get(a)[2];
-			newb = Move(b, Checkerboard.COMPUTER, movablepieces[acts.get(a)[0]], destpos);
-			tempv = minValue(newb, alpha, beta, level+1);
-			if(level == 0){
-				if(tempv > v){
-					bestnextmove[0][0] = movablepieces[acts.get(a)[0]][0];
-					bestnextmove[0][1] = movablepieces[acts.get(a)[0]][1];
-					bestnextmove[1][0] = destpos[0];
-					bestnextmove[1][1] = destpos[1];
-				}
-			}
-			v = Max(v, tempv);
-			if(v >= beta){
-				maxprun++;
-				return v;
-			}
-			alpha = Max(alpha, v);
+		if(!result.isPass()){
+			bestnextmove[0] = result.getStartpos();
+			bestnextmove[1] = result.getDestpos();
 		}
 		
-		if(level == 0){
-			System.out.println();
-		}		
-		return v;	
-	}
-
-
-	public int minValue(int[][] b, int alpha, int beta, int level) {//Human
-		nodes++;
-		boolean myturn = true;
+		LOG.fine("bestnextmove: [" + bestnextmove[0][0] + "," + bestnextmove[0][1] + "] -> [" + bestnextmove[1][0] + "," + bestnextmove[1][1] + "]");
 		
-		int utility = terminalTest(b);
-		if(utility != Checkers.NONTERMINAL){
-			maxdepth = Max(maxdepth,level);
-			return utility;
+		if(!result.isPass()){
+			int[][] nextstate = Move(b, Checkerboard.COMPUTER, bestnextmove[0], bestnextmove[1]);
+			return nextstate;
 		}
-		if(level == Checkers.CUTOFF){ // Cut off
-			return evaluation(b,false);		
+		else{
+			root.pass(true).toBoard(b); // the computer has no legal move, its pieces become end pieces
+			return b;
 		}
+	}
 
-		int v = Checkers.INF;
-		int tempv = v;
-		int[][] newb = new int[6][6];
-		int[][] movablepieces = movablePieces(b, false);
-		boolean jumpmove = false;
-		ArrayList<int[]> acts = new ArrayList<int[]>();		
-			
-		// get all the human's actions in the current state
-		for(int i = 0; i < 6; i++){
-			if(movablepieces[i][0] == -1){
-				break;
-			}
-			possibleActs(b, false, i, movablepieces[i][0], movablepieces[i][1], acts);
-		}
-					
-		// Checker if the human has no legal move to take
-		if(acts.size() == 0){
-			for(int i = 0; i < 6; i++){
-				if(movablepieces[i][0] == -1){
-					break;
-				}
-				b[movablepieces[i][0]][movablepieces[i][1]] = Checkerboard.HTOEND;
-			}	
-			myturn = false;
-		}
-		// no any legal move, change the turn
-		if(!myturn){
-			v = maxValue(b, alpha, beta, level+1);
-			return v;
-		}
-			
-		//Check if have jump actions, because jump move must be taken	
-		for(int i = acts.size()-1; i >= 0; i--){
-			int[] temp = acts.get(i);
-			if(temp[3] == 1){
-				jumpmove = true;
-				break;
-			}
-		}
-		if(jumpmove){ // jump must be taken, so remove all the regular move in acts
-			for(int i = acts.size()-1; i >= 0; i--){
-				if(acts.get(i)[3] == 0){
-					acts.remove(i);
-				}
-			}
+	/**
+	 * Function limits(): the limits of a computer move
+	 */
+	SearchLimits limits(){
+		return new SearchLimits(timebudget, depthlimit, Math.max(threads, 1));
+	}
+	
+	/**
+	 * Function moveNow(): let the computer stop thinking and take the best move it found so far
+	 */
+	public void moveNow(){
+		SearchHandle h = searching;
+		if(h != null){
+			h.requestStop();
 		}
-				
-		int[] destpos = new int[2];
-		for(int a = 0; a < acts.size(); a++){
-			destpos[0] = acts.get(a)[1];
-			destpos[1] = acts.get(a)[2];
-			newb = Move(b, Checkerboard.HUMAN, movablepieces[acts.get(a)[0]], destpos);
-			tempv = maxValue(newb, alpha, beta, level+1);
-				
-			v = Min(v, tempv);
-			if(v <= alpha){
-				minprun++;
-				return v;
-			}
-			beta = Min(beta, v);
+	}
+	
+	/**
+	 * Function startPondering(): let the engine think while the human is to move, if ponder is set
+	 * @param b: the board after the computer's move
+	 */
+	public void startPondering(int[][] b){
+		if(!ponder || engine == null){
+			return;
 		}
-		return v;
+		ponderer = new Ponder(engine, limits());
+		ponderer.start(new Position(b), reply);
+	}
 	
+	/**
+	 * Function stopPondering(): stop thinking on the human's time, e.g. when the game is over
+	 */
+	public void stopPondering(){
+		if(ponderer != null){
+			ponderer.finish(null);
+			ponderer = null;
+		}
 	}
-
+	
 	/**
 	 * Function movablePieces(): find the pieces which have legal moves in current board m
+	 * (int[][] form used by DrawBoard and SquareListener; the search uses Position.movablePieces())
 	 * @param m : current board
 	 * @param computer: true means to find movable computer pieces; false means to find movable human pieces
 	 * @return : return the location of these movable pieces
 	 */
 	public int[][] movablePieces(int[][] m, boolean computer){
-		int[][] movable = {{-1,-1},{-1,-1},{-1,-1},{-1,-1},{-1,-1},{-1,-1}}; // each player has at most 6 movable pieces
+		int[][] movable = new int[Checkerboard.PIECES][2]; // each player has at most PIECES movable pieces
+		for(int[] piece : movable){
+			piece[0] = -1;
+			piece[1] = -1;
+		}
 		int n = 0;
-		for(int i = 0; i < 6; i++){
-			for(int j = 0; j < 6; j++){
+		for(int i = 0; i < Checkerboard.SIZE; i++){
+			for(int j = 0; j < Checkerboard.SIZE; j++){
 				if(computer){
 					if(m[i][j] == Checkerboard.COMPUTER){
 						movable[n][0] = i;
@@ -364,6 +294,7 @@ public class Checkers {
 	
 	/**
 	 * Function possibleActs(): find all possible human or computer actions in current board m 
+	 * (int[][] form used by DrawBoard and SquareListener; the search uses Position.possibleActs())
 	 * @param m: the current board
 	 * @param computer: true means to find possible computer actions; otherwise, find all possible human actions
 	 * @param n: n indicates that possible actions are the piece movablepieces[n]'s actions
@@ -380,7 +311,7 @@ public class Checkers {
 		int index = 0;
 		
 		if(computer){
-			if(row + 2 < 6){
+			if(row + 2 < Checkerboard.SIZE){
 				if((col - 2 >= 0) && ((m[row+1][col-1] == Checkerboard.HUMAN) || m[row+1][col-1] == Checkerboard.HTOEND) && (m[row+2][col-2] == Checkerboard.EMPTY)){
 					actions[index][1] = row + 2;
 					actions[index][2] = col - 2;
@@ -389,7 +320,7 @@ public class Checkers {
 					index++;
 					jump = true;
 				}
-				if((col + 2 <= 5) && ((m[row+1][col+1] == Checkerboard.HUMAN) || m[row+1][col+1] == Checkerboard.HTOEND) && (m[row+2][col+2] == Checkerboard.EMPTY)){
+				if((col + 2 < Checkerboard.SIZE) && ((m[row+1][col+1] == Checkerboard.HUMAN) || m[row+1][col+1] == Checkerboard.HTOEND) && (m[row+2][col+2] == Checkerboard.EMPTY)){
 					actions[index][1] = row + 2;
 					actions[index][2] = col + 2;
 					actions[index][3] = 1;
@@ -399,7 +330,7 @@ public class Checkers {
 				}
 			}
 			if(jump == false){ //Regular move
-				if(row + 1 < 6){
+				if(row + 1 < Checkerboard.SIZE){
 					if((col - 1 >= 0) && (m[row+1][col-1] == Checkerboard.EMPTY)){
 						actions[index][1] = row + 1;
 						actions[index][2] = col - 1;
@@ -407,7 +338,7 @@ public class Checkers {
 						acts.add(actions[index]);
 						index++;
 					}
-					if((col + 1 <= 5) && m[row+1][col+1] == Checkerboard.EMPTY){
+					if((col + 1 < Checkerboard.SIZE) && m[row+1][col+1] == Checkerboard.EMPTY){
 						actions[index][1] = row + 1;
 						actions[index][2] = col + 1;
 						actions[index][3] = 0;
@@ -427,7 +358,7 @@ public class Checkers {
 					index++;
 					jump = true;
 				}
-				if((col + 2 <= 5) && ((m[row-1][col+1] == Checkerboard.COMPUTER) || (m[row-1][col+1] == Checkerboard.CTOEND)) && (m[row-2][col+2] == Checkerboard.EMPTY)){
+				if((col + 2 < Checkerboard.SIZE) && ((m[row-1][col+1] == Checkerboard.COMPUTER) || (m[row-1][col+1] == Checkerboard.CTOEND)) && (m[row-2][col+2] == Checkerboard.EMPTY)){
 					actions[index][1] = row - 2;
 					actions[index][2] = col + 2;
 					actions[index][3] = 1;
@@ -445,7 +376,7 @@ public class Checkers {
 						acts.add(actions[index]);
 						index++;
 					}
-					if((col + 1 <= 5) && m[row-1][col+1] == Checkerboard.EMPTY){
+					if((col + 1 < Checkerboard.SIZE) && m[row-1][col+1] == Checkerboard.EMPTY){
 						actions[index][1] = row - 1;
 						actions[index][2] = col + 1;
 						actions[index][3] = 0;
@@ -464,143 +395,23 @@ public class Checkers {
 	 *           otherwise, return the utility of this board
 	 */
 	public int terminalTest(int[][] b) {
-		int whitenum = 0;
-		int blacknum = 0;
-		int whitemovable = 0;
-		int blackmovable = 0;
-		
-		for(int i = 0; i < 6; i++){
-			for(int j = 0; j < 6; j++){
-				switch(b[i][j]){
-					case Checkerboard.COMPUTER:
-						whitenum++;
-						whitemovable++;
-						break;
-					case Checkerboard.HUMAN:
-						blacknum++;
-						blackmovable++;
-						break;
-					case Checkerboard.HTOEND:
-						blacknum++;
-						break;
-					case Checkerboard.CTOEND:
-						whitenum++;
-						break;
-					default:
-						break;
-				}
-			}
-		}
-		
-		if(whitenum == 0){ // Human win
-			return Checkers.HUMANWIN;
-		}
-		else if(blacknum == 0){ //Computer win
-			return Checkers.COMPUTERWIN;
-		}
-		else if((whitemovable == 0) && (blackmovable == 0)){ //both players do not have any legal move to take
-			if(whitenum > blacknum){ //Computer win
-				return Checkers.COMPUTERWIN; 
-			}
-			else if(whitenum < blacknum){ //Human win
-				return Checkers.HUMANWIN;
-			}
-			else{
-				return Checkers.DRAW;
-			}
-		}
-		
-		return Checkers.NONTERMINAL;
-	}
-	
-	/**
-	 * Function evaluation(): To evaluate the utility of the current state when cutoff happened
-	 * @param b: the current state/board
-	 * @param maxvalue: indicates whether cutoff happened in MAX level or Min level. 
-	 *                   if maxvalue = true, it's MAX level; otherwise, MIN level.
-	 * @return return the evaluated utility
-	 */
-	public int evaluation(int[][] b, boolean maxvalue) {
-		int whitenum = 0;
-		int blacknum = 0;
-		int whitemovable = 0;
-		int blackmovable = 0;
-		int wfarthestpos = 5;
-		int bfarthestpos = 5;
-		
-		for(int i = 0; i < 6; i++){
-			for(int j = 0; j < 6; j++){
-				switch(b[i][j]){
-					case Checkerboard.COMPUTER:
-						whitenum++;
-						whitemovable++;
-						wfarthestpos = Max(wfarthestpos,5-i);
-						break;
-					case Checkerboard.HUMAN:
-						blacknum++;
-						blackmovable++;
-						bfarthestpos = Max(bfarthestpos,i);
-						break;
-					case Checkerboard.HTOEND:
-						blacknum++;
-						bfarthestpos = Max(bfarthestpos,i);
-						break;
-					case Checkerboard.CTOEND:
-						whitenum++;
-						wfarthestpos = Max(wfarthestpos,5-i);
-						break;
-					default:
-						break;
-				}
-			}
-		}
-		
-		if(this.difficultylevel == 1){ //evaluation function for easy level
-			return bfarthestpos - wfarthestpos;	
-		}
-		else if(this.difficultylevel == 2){ //evaluation function for medium level
-			return whitenum - blacknum;
-		}
-		else{ // evaluation function for hard level
-			return (whitenum + whitemovable - blacknum - blackmovable);
-		}
+		return new Position(b).terminalTest();
 	}
 	
 	/**
-	 * Function checkBoardStatus(): to activate the pieces if they have legal moves again
+	 * Function checkBoardStatus(): to activate the pieces if they have legal moves again (see Position.reactivate())
 	 * @param b: the current board
 	 * @return return true if the reactive happens
 	 */
 	public boolean checkBoardStatus(DrawBoard b){
 		int[][] board = b.getBoard();
-		boolean reactive = false;
-		ArrayList<int[]> temp = new ArrayList<int[]>();
-		
-		for(int i = 0; i < 6; i++){
-			for(int j = 0; j < 6; j++){
-				temp.clear();
-				if(board[i][j] == Checkerboard.HTOEND){
-					possibleActs(board,false,0,i,j,temp);
-					if(temp.size() != 0){
-						board[i][j] = Checkerboard.HUMAN; //activate the piece
-						reactive = true;
-					}
-				}
-				else if(board[i][j] == Checkerboard.CTOEND){
-					possibleActs(board,true,0,i,j,temp);
-					if(temp.size() != 0){
-						board[i][j] = Checkerboard.COMPUTER; //activate the piece
-						reactive = true;
-					}
-				}
-			}
-		}
-		
-		if(reactive){
-			b.setBoard(board); // refresh the checkerboard
+		Position p = new Position(board);
+		if(!p.reactivate()){
+			return false;
 		}
-		
-		return reactive;
+		p.toBoard(board);
+		b.setBoard(board); // refresh the checkerboard
+		return true;
 	}
 
 	public int Max(int a, int b){
@@ -651,8 +462,35 @@ public class Checkers {
 		Frame f = new Frame(b);
 		
 		Checkers c = new Checkers();
+		if(args.length > 0){ // the time budget of every computer move, in milliseconds
+			c.timebudget = Long.parseLong(args[0]);
+		}
+		if(args.length > 1){ // the number of search threads
+			c.threads = Integer.parseInt(args[1]);
+		}
+		if(args.length > 2){ // true to think on the human's time, false not to
+			c.ponder = Boolean.parseBoolean(args[2]);
+		}
+		// the file the game is recorded into (see GameRecord)
+		GameRecorder recorder = new GameRecorder(new File(args.length > 3 ? args[3] : GameRecord.FILENAME));
+		// each file is optional: the game plays on without the one that cannot be read
+		try{
+			c.bitbase = EndgameBitbase.open(new File(EndgameBitbase.FILENAME));
+		} catch (IOException e){
+			LOG.warning(e.getMessage());
+		}
+		try{
+			c.book = OpeningBook.load(new File(OpeningBook.FILENAME));
+		} catch (IOException e){
+			LOG.warning(e.getMessage());
+		}
+		if(c.bitbase != null){
+			LOG.info("Endgame bitbase: positions with up to " + c.bitbase.getMaxpieces() + " pieces");
+		}
+		if(c.book != null){
+			LOG.info("Opening book: " + c.book.size(1) + "/" + c.book.size(2) + "/" + c.book.size(3) + " positions (easy/medium/hard)");
+		}
 		int gameresult = 0;
-		int treenum = 0;
 		
 		/**
 		 *  addActionListener() on each button to listen which level of difficulty the human player is chosen
@@ -690,53 +528,26 @@ public class Checkers {
 			
 		});
 		
-		boolean reactive = false;
-		//start game
-		while(true){
-			gameresult = c.terminalTest(b.getBoard());
-			if(gameresult != Checkers.NONTERMINAL){
-				break;
+		// the computer moves at once when the button is pressed, and shows how far it got in the title
+		f.btnmove.addActionListener(new ActionListener(){
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				c.moveNow();
 			}
 			
-			boolean computerplayer = b.isPlayed();
-			if(computerplayer){ //Computer move
-				reactive = false;
-				treenum++;
-				maxdepth = 0;
-				nodes = 0;
-				maxprun = 0;
-				minprun = 0;
-				
-				//Implement Alpha-Beta Algorithm to find the best next move
-				int [][] nextstate = c.alphaBetaSearch(b.getBoard());
-				
-				//output the statistics for the game tree
-				System.out.println("The statistics for the game tree("+ treenum +"):");
-				System.out.println("Maximum depth of tree: "+ maxdepth);
-				System.out.println("Total number of nodes generated: " + nodes);
-				System.out.println("The number of times pruning occurred in the MAX_VALUE function: " + maxprun);
-				System.out.println("The number of times pruning occurred in the MIN_VALUE function: " + minprun);
-				
-				//Take the best move
-				b.toMove(nextstate, false);
-				
-				// check if the computer move activates some human pieces 
-				reactive = c.checkBoardStatus(b);
-				if(reactive){
-					b.setPlayed(false);
-				}
-				
-				//Check if game over
-				gameresult = c.terminalTest(b.getBoard());
-				if(gameresult != Checkers.NONTERMINAL){
-					break;
-				}
+		});
+		c.progress = new SearchListener(){
+			@Override
+			public void update(SearchUpdate u) {
+				f.setTitle("Mini-Checkers - " + u);
 			}
-			else{ //human move
-				b.setPlayed(false);
-			}					
-			Thread.sleep(2000);
-		}
+		};
+		
+		//start game: the computer moves whenever the human has moved (see class GameController)
+		GameController controller = new GameController(c, b, recorder);
+		controller.start();
+		gameresult = controller.awaitEnd();
+		
 		c.GameEnd(gameresult,f);
 		
 	}
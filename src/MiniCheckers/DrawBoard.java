@@ -8,11 +8,8 @@ import java.awt.Graphics2D;
 import java.awt.GridLayout;
 import java.awt.Image;
 import java.awt.Paint;
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 
-import javax.imageio.ImageIO;
 import javax.swing.JPanel;
 
 /**
@@ -25,7 +22,7 @@ import javax.swing.JPanel;
 
 
 /**
- * Class Square: defined to show the 36 squares in the checker board.
+ * Class Square: defined to show the SIZE x SIZE squares in the checker board.
  */
 class Square extends JPanel{
 
@@ -97,37 +94,27 @@ class Pieces extends JPanel{
 	private static final long serialVersionUID = -8065584826738938142L;
 	
 	private int pieceStatus;
-	private String imgPath;
+	private String sprite; // the image of the piece (see class Sprites), null for an empty square
 	
 	public Pieces(int pieceStatus){
 		this.pieceStatus = pieceStatus;
-		
-		switch(pieceStatus){
-			case Checkerboard.HUMAN:
-				imgPath = "../CheckersGame/src/blackpiece.png";
-				break;
-			case Checkerboard.COMPUTER:
-				imgPath = "../CheckersGame/src/whitepiece.png";
-				break;
-			case Checkerboard.HTOEND:
-				imgPath = "../CheckersGame/src/blacktoend.png";
-				break;
-			case Checkerboard.CTOEND:
-				imgPath = "../CheckersGame/src/whitetoend.png";
-				break;
-			default:
-				imgPath = "";
-				break;							
-		}
+		this.sprite = Sprites.sprite(pieceStatus);
+	}
+	
+	// the piece of a square is kept for the whole game, only its status changes
+	public void setPieceStatus(int pieceStatus){
+		this.pieceStatus = pieceStatus;
+		this.sprite = Sprites.sprite(pieceStatus);
+		repaint();
 	}
 	
+	// the image is drawn from the sprite cache, scaled to the square with a margin of 5
 	@Override
 	public void paintComponent(Graphics g){
-		try{
-			Image img = ImageIO.read(new File(imgPath));
+		int size = Math.min(getWidth(), getHeight()) - 10;
+		Image img = Sprites.get(sprite, size, size, this);
+		if(img != null){
 			g.drawImage(img, 5, 5, this);
-		} catch (IOException e){
-			e.toString();
 		}
 	}
 	
@@ -144,14 +131,21 @@ public class DrawBoard extends JPanel{
 
 	private static final long serialVersionUID = -6156384728427151635L;
 	
-	private int[][] board = new int[6][6];
+	private int[][] board = new int[Checkerboard.SIZE][Checkerboard.SIZE];
 	/**
 	 * variable played: indicates whether this turn is for human or computer;
 	 *         		     played == false: it's human's turn, waiting for human to play
 	 *        			 played == true: human finished his/her move; waiting for computer to play
+	 *         It is written on the event dispatch thread and read by the engine thread, so it is volatile.
 	 */	
-	private boolean played = false;
+	private volatile boolean played = false;
 	private Square activeSquare;
+	
+	// the piece of each square, created once with its listener; the square shows it unless it is a possible move
+	private final Pieces[] pieces = new Pieces[Checkerboard.SIZE * Checkerboard.SIZE];
+	
+	// controller hands the human's moves to the computer, null if there is none
+	private GameController controller = null;
 
 	public Square getActiveSquare() {
 		return activeSquare;
@@ -160,6 +154,10 @@ public class DrawBoard extends JPanel{
 		this.activeSquare = activeSquare;
 	}
 	
+	public void setController(GameController controller){
+		this.controller = controller;
+	}
+	
 	public void setPlayed(boolean played){
 		this.played = played;
 	}
@@ -169,7 +167,6 @@ public class DrawBoard extends JPanel{
 	
 	public void setBoard(int[][] b){
 		this.board = b;
-		deleteAllpieces();
 		setBoardByMatrice(b);
 	}
 	
@@ -178,20 +175,18 @@ public class DrawBoard extends JPanel{
 	}
 	
 	public void paintComponent(Graphics g){
-		try{
-			Image img = ImageIO.read(new File("../CheckersGame/src/boardbg.png"));
-			g.drawImage(img, 0, 0, this.getWidth(), this.getHeight(), this);
-		} catch (IOException e){
-			e.toString();
+		Image img = Sprites.get(Sprites.BOARD, getWidth(), getHeight(), this);
+		if(img != null){
+			g.drawImage(img, 0, 0, this);
 		}
 	}
 	
 	//initial the checker board 
 	public DrawBoard(int[][] b){
-		setLayout(new GridLayout(6,6));
+		setLayout(new GridLayout(Checkerboard.SIZE,Checkerboard.SIZE));
 		applyComponentOrientation(ComponentOrientation.LEFT_TO_RIGHT);
-		for(int i = 0; i < 6; i++){
-			for(int j = 0; j < 6; j++){
+		for(int i = 0; i < Checkerboard.SIZE; i++){
+			for(int j = 0; j < Checkerboard.SIZE; j++){
 				if(j % 2 != i % 2){
 					addSquare(true);
 				}
@@ -218,54 +213,60 @@ public class DrawBoard extends JPanel{
 		return p;
 	}
 	
-	public void deleteAllpieces(){
-		for(int i = 0; i < 36; i++){
-			getSquare(i).removeAll();
-		}
-	}
-	
 	public Square getSquare(int i) {
-		// TODO Auto-generated method stub
 		return (Square) getComponent(i);
 	}
 	
 	public Square getSquare(int i, int j){
-		return (Square) getComponent(i*6+j);
+		return (Square) getComponent(i*Checkerboard.SIZE+j);
 	}
 	
+	/**
+	 * setBoardByMatrice(): show the board b
+	 * Only the squares whose piece changed, or which lost their piece to show a possible move
+	 * (see displayPossibleMoveSquare()), are updated; the pieces and their listeners are reused.
+	 * The layout of the board is updated once at the end, if a piece was put back on its square.
+	 * @param b: the board to show; it is compared with the pieces shown, not with the last board,
+	 *           because the callers may have changed the last board in place (see Checkers.checkBoardStatus())
+	 */
 	public void setBoardByMatrice(int[][] b) {
-		// TODO Auto-generated method stub
-		for(int row = 0; row < 6; row++){
-			for(int col = 0; col < 6; col++){
+		boolean relayout = false;
+		for(int row = 0; row < Checkerboard.SIZE; row++){
+			for(int col = 0; col < Checkerboard.SIZE; col++){
+				int status = Checkerboard.EMPTY; //Empty - no piece
 				if(row % 2 != col % 2){ //pieces can only be placed on the square where row%2 != col%2 
-					if(b[row][col] == Checkerboard.HUMAN){
-						getSquare(row,col).add(createPiece(Checkerboard.HUMAN)); //Human - dark piece
-					}
-					else if(b[row][col] == Checkerboard.COMPUTER){
-						getSquare(row,col).add(createPiece(Checkerboard.COMPUTER)); //Computer - white piece
-					}
-					else if(b[row][col] == Checkerboard.HTOEND){
-						getSquare(row,col).add(createPiece(Checkerboard.HTOEND)); //Human piece reach to the opposite end
-					}
-					else if(b[row][col] == Checkerboard.CTOEND){
-						getSquare(row,col).add(createPiece(Checkerboard.CTOEND)); //Computer piece reach to the opposite end
+					switch(b[row][col]){
+						case Checkerboard.HUMAN: //Human - dark piece
+						case Checkerboard.COMPUTER: //Computer - white piece
+						case Checkerboard.HTOEND: //Human piece reach to the opposite end
+						case Checkerboard.CTOEND: //Computer piece reach to the opposite end
+							status = b[row][col];
+							break;
+						default:
+							break;
 					}
-					else{
-						getSquare(row,col).add(createPiece(Checkerboard.EMPTY)); //Empty - no piece
-					}			
 				}
-				else{
-					getSquare(row,col).add(createPiece(Checkerboard.EMPTY)); //Empty - no piece
+				
+				int i = row * Checkerboard.SIZE + col;
+				if(pieces[i] == null){
+					pieces[i] = createPiece(status);
+				}
+				else if(pieces[i].getSquaretatus() != status){
+					pieces[i].setPieceStatus(status);
+				}
+				Square s = getSquare(i);
+				if(s.getComponentCount() == 0){
+					s.add(pieces[i]);
+					s.setVisible(true);
+					relayout = true;
 				}
 			}
 		}
 		
 		//refresh the checkerboard
-		for(int row = 0; row < 6; row++){
-			for(int col = 0; col < 6; col++){
-				getSquare(row,col).setVisible(false);
-				getSquare(row,col).setVisible(true);
-			}
+		if(relayout){
+			revalidate();
+			repaint();
 		}
 	}
 	
@@ -277,15 +278,15 @@ public class DrawBoard extends JPanel{
 	 */
 	
 	public int[] MovableHumanPiecePosition(Pieces p){
-		int[] respos = {6,6};
+		int[] respos = {Checkerboard.SIZE,Checkerboard.SIZE};
 		if(p.getSquaretatus() == 1){ //Human
-			for(int i = 0; i < 36; i++){
+			for(int i = 0; i < Checkerboard.SIZE * Checkerboard.SIZE; i++){
 				getSquare(i).setSelected(false);
 				
 				if(getSquare(i).getComponentCount() != 0 && getSquare(i).getComponent(0).equals(p)){
 					activeSquare = getSquare(i);
-					respos[0] = i / 6;
-					respos[1] = i % 6;
+					respos[0] = i / Checkerboard.SIZE;
+					respos[1] = i % Checkerboard.SIZE;
 				}
 				if(getSquare(i).getComponentCount() != 0){
 					getSquare(i).setVisible(true);
@@ -314,7 +315,7 @@ public class DrawBoard extends JPanel{
 				jump = true;
 				movesnum++;
 			}
-			if((col + 2 <= 5) && ((board[row-1][col+1] == Checkerboard.COMPUTER) || (board[row-1][col+1] == Checkerboard.CTOEND)) && (board[row-2][col+2] == Checkerboard.EMPTY)){
+			if((col + 2 < Checkerboard.SIZE) && ((board[row-1][col+1] == Checkerboard.COMPUTER) || (board[row-1][col+1] == Checkerboard.CTOEND)) && (board[row-2][col+2] == Checkerboard.EMPTY)){
 				getSquare(row-2,col+2).setSelected(true);
 				getSquare(row-2,col+2).removeAll();
 				jump = true;
@@ -327,7 +328,7 @@ public class DrawBoard extends JPanel{
 				getSquare(row-1,col-1).removeAll();
 				movesnum++;
 			}
-			if((col + 1 <= 5) && board[row-1][col+1] == Checkerboard.EMPTY){
+			if((col + 1 < Checkerboard.SIZE) && board[row-1][col+1] == Checkerboard.EMPTY){
 				getSquare(row-1,col+1).setSelected(true);
 				getSquare(row-1,col+1).removeAll();
 				movesnum++;
@@ -341,10 +342,10 @@ public class DrawBoard extends JPanel{
 	public int[] getIndexofSquare(Square s){
 		int[] ind = new int[2];
 		
-		for(int i = 0; i < 36; i++){
+		for(int i = 0; i < Checkerboard.SIZE * Checkerboard.SIZE; i++){
 			if(getSquare(i).equals(s)){
-				ind[0] = i / 6;
-				ind[1] = i % 6;
+				ind[0] = i / Checkerboard.SIZE;
+				ind[1] = i % Checkerboard.SIZE;
 			}
 		}
 		return ind;
@@ -355,6 +356,7 @@ public class DrawBoard extends JPanel{
 	 * @param newBoard : the result checker board after taking a move
 	 * @param played : true means human player has already taken his/her move;
 	 * 				   false means computer player has taken its move, waiting for human player to take a move 
+	 * It runs on the event dispatch thread; after a human move, the controller lets the computer reply.
 	 */
 	public void toMove(int[][] newBoard, boolean played){	
 		
@@ -363,7 +365,7 @@ public class DrawBoard extends JPanel{
 		//check if have any legal move
 		int[][] movablepieces = c.movablePieces(newBoard, false);
 		ArrayList<int[]> acts = new ArrayList<int[]>();
-		for(int i = 0; i < 6; i++){
+		for(int i = 0; i < Checkerboard.PIECES; i++){
 			if(movablepieces[i][0] == -1){
 				break;
 			}
@@ -374,7 +376,7 @@ public class DrawBoard extends JPanel{
 			setPlayed(played);
 		}
 		else{//no legal move
-			for(int i = 0; i < 6; i++){
+			for(int i = 0; i < Checkerboard.PIECES; i++){
 				if(movablepieces[i][0] == -1){
 					break;
 				}
@@ -388,6 +390,10 @@ public class DrawBoard extends JPanel{
 		if(!Checkers.equalarray(newBoard, this.board)){
 			setBoard(newBoard);	
 		}		
+		
+		if(played && controller != null){ // the human has moved, hand the board to the computer
+			controller.humanMoved();
+		}
 	}
 	
 }
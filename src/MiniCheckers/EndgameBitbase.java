@@ -0,0 +1,330 @@
+package MiniCheckers;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * This file defines the class EndgameBitbase, the exact result of every position with few pieces left.
+ *
+ * With only 6 pieces per side and forward-only moves, positions with few pieces are small enough to solve
+ * exhaustively: no move leads back to an earlier position, so the value of a position follows from the values
+ * of its successors, down to the terminal positions. The generator (main) solves every position with up to
+ * maxpieces pieces on the board and writes the results to a file. At startup the file
+ * is memory-mapped, and the search probes it instead of searching on to the cutoff or using the evaluation.
+ *
+ * Only the positions with the computer to move are stored: a position with the human to move is the flipped
+ * position (see Position.flip()) with the computer to move, whose value is the negated one.
+ * A position with k pieces and the computer to move is numbered by:
+ *     the rank of the set of its k occupied squares among all the C(squares,k) sets (combinatorial number
+ *     system), C(18,k) on the 6x6 board,
+ *     the kind (HUMANKIND..CTOENDKIND) of each piece in square order, as a number in base 4.
+ * Each position takes 2 bits: 0 not solved yet, 1 DRAW, 2 COMPUTERWIN, 3 HUMANWIN.
+ * A bitbase is made for the board of one Geometry and only covers the positions of that board; on the
+ * bigger boards the numbers grow fast, so fewer pieces fit (see MAXPOSITIONS).
+ *
+ * The file starts with the magic number MAGIC, the size of the board and maxpieces, followed by the 2-bit values.
+ *
+ * Usage: EndgameBitbase [maxpieces, default 5] [file, default FILENAME] [board size, default 6]
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class EndgameBitbase {
+
+	final static public String FILENAME = "endgame.bitbase";
+	final static public int MAGIC = 0x4D434233; // "MCB3"
+	final static public int HEADER = 12;
+	final static public int MAXPIECES = 6;
+
+	// the most positions a bitbase may number, its index is an int
+	final static public long MAXPOSITIONS = Integer.MAX_VALUE;
+
+	// BINOMIAL[n][k] = C(n,k), up to the squares of the biggest board
+	final static private int MAXSQUARES = Geometry.of(Geometry.MAXSIZE).getSquares();
+	final static private int[][] BINOMIAL = new int[MAXSQUARES + 1][MAXPIECES + 1];
+
+	static{
+		for(int n = 0; n <= MAXSQUARES; n++){
+			BINOMIAL[n][0] = 1;
+			for(int k = 1; k <= MAXPIECES && k <= n; k++){
+				BINOMIAL[n][k] = BINOMIAL[n-1][k-1] + BINOMIAL[n-1][k];
+			}
+		}
+	}
+
+	private final Geometry g;
+	private final int maxpieces;
+	private final int[] offsets; // offsets[k]: the number of the first position with k pieces
+	private final ByteBuffer data; // the 2-bit values, without the header
+	private int[][] acts; // action buffers of the generator, one per level
+
+	private EndgameBitbase(Geometry g, int maxpieces, ByteBuffer data){
+		super();
+		if(maxpieces < 2 || maxpieces > MAXPIECES){
+			throw new IllegalArgumentException("maxpieces must be between 2 and " + MAXPIECES + ": " + maxpieces);
+		}
+		this.g = g;
+		this.maxpieces = maxpieces;
+		this.offsets = new int[maxpieces + 2];
+		long offset = 0;
+		for(int k = 2; k <= maxpieces; k++){
+			offset += (long) BINOMIAL[g.squares][k] * (1 << (2 * k));
+			if(offset > MAXPOSITIONS){
+				throw new IllegalArgumentException("The bitbase of the " + g + " board with " + maxpieces + " pieces is too big");
+			}
+			offsets[k+1] = (int) offset;
+		}
+		this.data = (data != null) ? data : ByteBuffer.allocate((offsets[maxpieces+1] + 3) / 4);
+	}
+
+	public Geometry getGeometry(){
+		return g;
+	}
+
+	public int getMaxpieces(){
+		return maxpieces;
+	}
+
+	/**
+	 * Function open(): memory-map a bitbase file written by the generator
+	 * @param file: the bitbase file
+	 * @return the bitbase, or null if the file does not exist
+	 * @throws IOException if the file is not a bitbase: wrong magic number, board size or maxpieces, or truncated
+	 */
+	public static EndgameBitbase open(File file) throws IOException{
+		if(!file.exists()){
+			return null;
+		}
+		try(RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()){
+			if(channel.size() < HEADER){
+				throw new IOException("Not an endgame bitbase: " + file);
+			}
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+			int size = header.getInt(4);
+			int maxpieces = header.getInt(8);
+			if(header.getInt(0) != MAGIC || !Geometry.isSize(size) || maxpieces < 2 || maxpieces > MAXPIECES){
+				throw new IOException("Not an endgame bitbase: " + file);
+			}
+			ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, HEADER, channel.size() - HEADER);
+			EndgameBitbase bb;
+			try{
+				bb = new EndgameBitbase(Geometry.of(size), maxpieces, data);
+			} catch (IllegalArgumentException e){ // more positions than the generator can write
+				throw new IOException("Not an endgame bitbase: " + file, e);
+			}
+			if(data.capacity() < (bb.offsets[maxpieces+1] + 3) / 4){
+				throw new IOException("Truncated endgame bitbase: " + file);
+			}
+			return bb;
+		}
+	}
+
+	/**
+	 * Function covers(): check if the position is on the board of the bitbase and has few enough pieces to be in it
+	 */
+	public boolean covers(Position p){
+		return p.g == g && Long.bitCount(p.occupied()) <= maxpieces;
+	}
+
+	/**
+	 * Function probe(): the exact value of a position covered by the bitbase
+	 * @param p: the position, it must not be a terminal node (terminal nodes are not stored)
+	 * @param computer: true if the computer is to move
+	 * @return COMPUTERWIN, HUMANWIN or DRAW
+	 */
+	public int probe(Position p, boolean computer){
+		int v = value(get(index(p, computer)));
+		return computer ? v : -v;
+	}
+
+	/**
+	 * Function index(): the number of a position in the bitbase; with the human to move, the number of the
+	 * flipped position with the computer to move
+	 */
+	public int index(Position p, boolean computer){
+		if(computer){
+			return index(p.human, p.computer, p.htoend, p.ctoend);
+		}
+		return index(g.mirror(p.computer), g.mirror(p.human), g.mirror(p.ctoend), g.mirror(p.htoend));
+	}
+
+	private int index(long human, long computer, long htoend, long ctoend){
+		long occupied = human | computer | htoend | ctoend;
+		int k = Long.bitCount(occupied);
+		int squares = 0;
+		int kinds = 0;
+		int i = 0;
+		for(long bits = occupied; bits != 0; bits &= bits - 1, i++){
+			int s = Long.numberOfTrailingZeros(bits);
+			long bit = 1L << s;
+			int kind;
+			if((human & bit) != 0){
+				kind = Position.HUMANKIND;
+			}
+			else if((computer & bit) != 0){
+				kind = Position.COMPUTERKIND;
+			}
+			else if((htoend & bit) != 0){
+				kind = Position.HTOENDKIND;
+			}
+			else{
+				kind = Position.CTOENDKIND;
+			}
+			squares += BINOMIAL[s][i+1];
+			kinds |= kind << (2 * i);
+		}
+		return offsets[k] + (squares << (2 * k)) + kinds;
+	}
+
+	/**
+	 * Function position(): the position numbered index with k pieces, the computer to move; the inverse of index()
+	 */
+	private Position position(int index, int k){
+		int rest = index - offsets[k];
+		int kinds = rest & ((1 << (2 * k)) - 1);
+		int squares = rest >>> (2 * k);
+		Position p = new Position(g);
+		for(int i = k; i >= 1; i--){ // largest square first
+			int s = i - 1;
+			while(s + 1 < g.squares && BINOMIAL[s+1][i] <= squares){
+				s++;
+			}
+			squares -= BINOMIAL[s][i];
+			long bit = 1L << s;
+			switch((kinds >>> (2 * (i - 1))) & 3){
+				case Position.HUMANKIND:
+					p.human |= bit;
+					break;
+				case Position.COMPUTERKIND:
+					p.computer |= bit;
+					break;
+				case Position.HTOENDKIND:
+					p.htoend |= bit;
+					break;
+				default:
+					p.ctoend |= bit;
+					break;
+			}
+		}
+		p.rehash();
+		return p;
+	}
+
+	private int get(int index){
+		return (data.get(index >>> 2) >>> (2 * (index & 3))) & 3;
+	}
+
+	private void set(int index, int code){
+		int i = index >>> 2;
+		data.put(i, (byte) (data.get(i) | (code << (2 * (index & 3)))));
+	}
+
+	private static int code(int value){
+		if(value == Checkers.COMPUTERWIN){
+			return 2;
+		}
+		else if(value == Checkers.HUMANWIN){
+			return 3;
+		}
+		return 1;
+	}
+
+	private static int value(int code){
+		if(code == 2){
+			return Checkers.COMPUTERWIN;
+		}
+		else if(code == 3){
+			return Checkers.HUMANWIN;
+		}
+		return Checkers.DRAW;
+	}
+
+	/**
+	 * Function generate(): solve every position of the board with up to maxpieces pieces
+	 */
+	public static EndgameBitbase generate(Geometry g, int maxpieces){
+		EndgameBitbase bb = new EndgameBitbase(g, maxpieces, null);
+		bb.acts = new int[4 * Checkers.MAXDEPTH][g.maxmoves];
+		for(int k = 2; k <= maxpieces; k++){
+			for(int index = bb.offsets[k]; index < bb.offsets[k+1]; index++){
+				if(bb.get(index) == 0){
+					bb.solve(bb.position(index, k), true, 0);
+				}
+			}
+		}
+		bb.acts = null;
+		return bb;
+	}
+
+	/**
+	 * Function solve(): the exact value of a position, by searching all its successors.
+	 * The values of the positions already solved are taken from the table; new values are stored in it.
+	 */
+	private int solve(Position p, boolean computer, int level){
+		int v = p.terminalTest();
+		if(v != Checkers.NONTERMINAL){
+			return v;
+		}
+		int index = index(p, computer);
+		int code = get(index);
+		if(code != 0){
+			return computer ? value(code) : -value(code);
+		}
+
+		int[] acts = this.acts[level];
+		int n = p.possibleActs(computer, acts);
+		if(n == 0){ // no legal move, change the turn
+			long movers = p.makePass(computer);
+			v = solve(p, !computer, level+1);
+			p.unmakePass(computer, movers);
+		}
+		else{
+			int best = computer ? Checkers.COMPUTERWIN : Checkers.HUMANWIN;
+			v = computer ? Checkers.NINF : Checkers.INF;
+			for(int a = 0; a < n && v != best; a++){
+				int captured = p.make(acts[a], computer);
+				int tempv = solve(p, !computer, level+1);
+				p.unmake(acts[a], computer, captured);
+				v = computer ? Math.max(v, tempv) : Math.min(v, tempv);
+			}
+		}
+		set(index, code(computer ? v : -v)); // the value of the flipped position with the computer to move
+		return v;
+	}
+
+	/**
+	 * Function write(): save the bitbase to a file
+	 */
+	public void write(File file) throws IOException{
+		try(DataOutputStream out = new DataOutputStream(new FileOutputStream(file))){
+			out.writeInt(MAGIC);
+			out.writeInt(g.size);
+			out.writeInt(maxpieces);
+			out.write(data.array(), 0, data.capacity());
+		}
+	}
+
+	public static void main(String[] args) throws IOException{
+		int maxpieces = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		File file = new File(args.length > 1 ? args[1] : FILENAME);
+		Geometry g = Geometry.of(args.length > 2 ? Integer.parseInt(args[2]) : Checkerboard.SIZE);
+
+		long start = System.currentTimeMillis();
+		EndgameBitbase bb = generate(g, maxpieces);
+		bb.write(file);
+
+		int[] count = new int[4];
+		for(int index = 0; index < bb.offsets[maxpieces+1]; index++){
+			count[bb.get(index)]++;
+		}
+		System.out.println("Endgame bitbase of the " + g + " board up to " + maxpieces + " pieces: " + bb.offsets[maxpieces+1] + " positions, "
+				+ file.length() + " bytes written to " + file);
+		System.out.println("computer wins: " + count[2] + ", human wins: " + count[3] + ", draws: " + count[1] + ", terminal: " + count[0]);
+		System.out.println("Generated in " + (System.currentTimeMillis() - start) + " ms");
+	}
+}
@@ -0,0 +1,268 @@
+package MiniCheckers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * This file defines the class Engine, the Alpha-Beta search of Mini-Checkers without the GUI.
+ *
+ * An engine searches a position for the side to move within SearchLimits and returns the best move with
+ * the statistics of the search (SearchResult). It only uses the bitboard classes, never the AWT/Swing
+ * classes of the GUI, so it runs in batch jobs and on headless servers. The GUI (class Checkers) takes
+ * the computer moves from an engine as well.
+ *
+ * An engine plays at one difficulty level and keeps its transposition table between searches, so it is
+ * meant to follow one game, or one batch of positions, at a time. clear() forgets the stored positions.
+ * The search always maximizes for the computer; with the human to move, the flipped position
+ * (see Position.flip()) is searched. An engine searches positions of any board size (see Geometry);
+ * the endgame bitbase is only probed on the board it was generated for, the opening book only on the
+ * 6x6 board of the GUI.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class Engine {
+
+	private final int difficultylevel;
+	private final TranspositionTable tt;
+
+	// the endgame bitbase and the opening book, null if there is none
+	private EndgameBitbase bitbase = null;
+	private OpeningBook book = null;
+
+	// the search mode, Search.ALPHABETA or Search.PVS, and whether the forced jumps after the cutoff level are searched
+	private int mode = Search.ALPHABETA;
+	private boolean quiescence = true;
+
+	/**
+	 * @param difficultylevel: selects the evaluation function, 1 (easy), 2 (medium) or 3 (hard)
+	 */
+	public Engine(int difficultylevel){
+		this(difficultylevel, Checkers.TTBITS);
+	}
+
+	/**
+	 * @param difficultylevel: selects the evaluation function, 1 (easy), 2 (medium) or 3 (hard)
+	 * @param ttbits: the transposition table has 2^ttbits entries
+	 */
+	public Engine(int difficultylevel, int ttbits){
+		super();
+		if(difficultylevel < 1 || difficultylevel > 3){
+			throw new IllegalArgumentException("difficultylevel must be 1, 2 or 3: " + difficultylevel);
+		}
+		this.difficultylevel = difficultylevel;
+		this.tt = new TranspositionTable(ttbits);
+	}
+
+	public int getDifficultylevel(){
+		return difficultylevel;
+	}
+
+	public void setBitbase(EndgameBitbase bitbase){
+		this.bitbase = bitbase;
+	}
+
+	public void setBook(OpeningBook book){
+		this.book = book;
+	}
+
+	public int getMode(){
+		return mode;
+	}
+
+	/**
+	 * Function setMode(): select plain Alpha-Beta (Search.ALPHABETA) or principal variation search with
+	 * aspiration windows (Search.PVS); both find the same value, they differ in the number of nodes searched
+	 */
+	public void setMode(int mode){
+		if(mode != Search.ALPHABETA && mode != Search.PVS){
+			throw new IllegalArgumentException("Unknown search mode: " + mode);
+		}
+		this.mode = mode;
+	}
+
+	public boolean getQuiescence(){
+		return quiescence;
+	}
+
+	/**
+	 * Function setQuiescence(): search the forced jumps after the cutoff level before evaluating
+	 * (see Search.quiesce()), or evaluate the positions at the cutoff level as they are
+	 */
+	public void setQuiescence(boolean quiescence){
+		this.quiescence = quiescence;
+	}
+
+	/**
+	 * Function clear(): forget the positions searched so far, e.g. before a new game
+	 */
+	public void clear(){
+		tt.clear();
+	}
+
+	/**
+	 * Function search(): find the best move of the side to move
+	 * It is an iterative deepening search (see class Search) which stops at the limits
+	 * or when the game tree is searched completely. Positions in the opening book are not searched.
+	 * The statistics are added to EngineMetrics and, while Flight Recorder runs, recorded as a SearchEvent.
+	 * @param p: the position; it is not changed
+	 * @param computer: true if the computer is to move, false if the human is to move
+	 * @param limits: the time, depth and threads of the search
+	 * @return the best move, with the statistics of the search
+	 */
+	public SearchResult search(Position p, boolean computer, SearchLimits limits){
+		return search(p, computer, limits, new AtomicBoolean(false), null);
+	}
+
+	/**
+	 * Function newSearch(): prepare a search to run on another thread (see class SearchHandle)
+	 * The search starts when the handle is run.
+	 */
+	public SearchHandle newSearch(Position p, boolean computer, SearchLimits limits){
+		return new SearchHandle(this, p, computer, limits);
+	}
+
+	/**
+	 * Function searchAsync(): start a search on executor
+	 * @return the handle to stop the search, follow its progress and get its result
+	 */
+	public SearchHandle searchAsync(Position p, boolean computer, SearchLimits limits, Executor executor){
+		SearchHandle h = newSearch(p, computer, limits);
+		executor.execute(h);
+		return h;
+	}
+
+	/**
+	 * Function search(): find the best move of the side to move, stopping early once stop is set.
+	 * The search still completes its first iteration.
+	 * @param listener: receives an update after every completed iteration, null if none
+	 */
+	SearchResult search(Position p, boolean computer, SearchLimits limits, AtomicBoolean stop, SearchListener listener){
+		SearchEvent event = FlightRecorder.isInitialized() ? new SearchEvent() : null; // loading the event class starts JFR, which takes long
+		if(event != null){
+			event.begin();
+		}
+		long start = System.nanoTime();
+		SearchStats stats = new SearchStats();
+		Position root = computer ? p : p.flip();
+		int value;
+		int reply = 0;
+		int act = (book != null) ? book.lookup(root, difficultylevel) : 0;
+
+		if(act != 0){
+			value = Checkers.DRAW;
+			stats.bookmove = true;
+		}
+		else{
+			Search best = parallelSearch(root, !computer, limits, stats, stop, listener);
+			value = best.bestvalue;
+			act = (value == Checkers.CHANGETURN) ? 0 : best.bestact;
+			if(act != 0 && root.Move(act, true).isLegal(best.bestreply, false)){ // it was read from the table, so check it
+				reply = best.bestreply;
+			}
+		}
+		stats.elapsed = System.nanoTime() - start;
+		if(event != null){
+			event.record(stats, difficultylevel, limits.getThreads());
+		}
+		EngineMetrics.get().record(stats);
+
+		if(!computer){ // back from the flipped position
+			act = root.flipAct(act);
+			reply = root.flipAct(reply);
+			value = (value == Checkers.CHANGETURN) ? value : -value;
+		}
+		return new SearchResult(p.getGeometry(), act, value, reply, stats);
+	}
+
+	/**
+	 * Function search(): find the best move of the side to move in the int[n][n] form of the board
+	 */
+	public SearchResult search(int[][] board, boolean computer, SearchLimits limits){
+		return search(new Position(board), computer, limits);
+	}
+
+	/**
+	 * Function expectedAct(): the best action of the side to move stored by the last searches, e.g. the
+	 * human reply the computer expects after its own move
+	 * @return the action, 0 if the position was not searched
+	 */
+	public int expectedAct(Position p, boolean computer){
+		long entry = tt.probe(p.canonicalKey(computer));
+		if(entry == 0){
+			return 0;
+		}
+		int act = computer ? TranspositionTable.act(entry) : p.flipAct(TranspositionTable.act(entry));
+		return p.isLegal(act, computer) ? act : 0;
+	}
+
+	/**
+	 * Function parallelSearch(): run the search workers on the root and merge their statistics
+	 * With more than one thread, the other workers search the same root at the same time
+	 * and share the transposition table (Lazy SMP).
+	 * @param root: the position to search, the computer is to move
+	 * @param flipped: true if root is the flipped position of the human to move
+	 * @param stats: receives the statistics of all the workers
+	 * @param stop: the stop flag of the workers, set by the first worker which finishes
+	 * @param listener: receives an update after every iteration worker 0 completes, null if none
+	 * @return the worker whose result is taken: an exact one, otherwise the deepest one
+	 */
+	private Search parallelSearch(final Position root, final boolean flipped, SearchLimits limits, SearchStats stats, AtomicBoolean stop, final SearchListener listener){
+		long deadline = System.currentTimeMillis() + limits.getTimebudget();
+		final long start = System.nanoTime();
+		final Search[] workers = new Search[limits.getThreads()];
+		Thread[] helpers = new Thread[workers.length];
+		for(int i = 0; i < workers.length; i++){
+			workers[i] = new Search(i, root, difficultylevel, tt, deadline, stop);
+			workers[i].bitbase = bitbase;
+			workers[i].depthlimit = limits.getDepthlimit();
+			workers[i].mode = mode;
+			workers[i].quiescence = quiescence;
+		}
+		if(listener != null){
+			workers[0].oniteration = new Runnable(){
+				@Override
+				public void run(){
+					Search main = workers[0];
+					long nodes = 0;
+					for(Search w : workers){ // the counts of the other workers are read while they run, so they are approximate
+						nodes += w.stats.nodes;
+					}
+					int value = main.bestvalue;
+					int act = (value == Checkers.CHANGETURN) ? 0 : main.bestact;
+					if(flipped){
+						act = root.flipAct(act);
+						value = (value == Checkers.CHANGETURN) ? value : -value;
+					}
+					listener.update(new SearchUpdate(root.getGeometry(), main.searchdepth, value, act, nodes, System.nanoTime() - start));
+				}
+			};
+		}
+		for(int i = 1; i < workers.length; i++){
+			helpers[i] = new Thread(workers[i], "Search-" + i);
+			helpers[i].start();
+		}
+		workers[0].run();
+		for(int i = 1; i < workers.length; i++){
+			try {
+				helpers[i].join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		// merge the statistics and pick the result: an exact one, otherwise the deepest one
+		Search best = workers[0];
+		for(Search w : workers){
+			stats.add(w.stats);
+			if(w.searchdepth > 0 && !best.exact && (w.exact || w.searchdepth > best.searchdepth)){
+				best = w;
+			}
+		}
+		stats.searchdepth = best.searchdepth;
+		stats.timetobest = best.stats.timetobest;
+		return best;
+	}
+}
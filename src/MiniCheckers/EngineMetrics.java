@@ -0,0 +1,151 @@
+package MiniCheckers;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * This file defines the class EngineMetrics, the totals of the statistics of all the searches.
+ *
+ * Every finished search adds its SearchStats (see record()). The one instance is registered with the
+ * platform MBean server under the name NAME, so the engine throughput can be watched with any JMX client
+ * (e.g. jconsole) while the game runs. Starting the MBean server takes long, so it is registered on a
+ * background thread and the first search does not wait for it.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class EngineMetrics implements EngineMetricsMBean {
+
+	final static public String NAME = "MiniCheckers:type=EngineMetrics";
+
+	final static private EngineMetrics INSTANCE = new EngineMetrics();
+
+	static{
+		Thread t = new Thread(new Runnable(){
+			@Override
+			public void run(){
+				try {
+					ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(NAME));
+				} catch (JMException e) {
+					Logger.getLogger(EngineMetrics.class.getName()).log(Level.WARNING, "EngineMetrics not registered", e);
+				}
+			}
+		}, "EngineMetrics");
+		t.setDaemon(true);
+		t.start();
+	}
+
+	private long searches;
+	private long bookmoves;
+	private SearchStats total;
+	private SearchStats last;
+
+	private EngineMetrics(){
+		super();
+		reset();
+	}
+
+	public static EngineMetrics get(){
+		return INSTANCE;
+	}
+
+	/**
+	 * Function record(): add the statistics of a finished search to the totals
+	 */
+	public synchronized void record(SearchStats s){
+		searches++;
+		if(s.bookmove){
+			bookmoves++;
+		}
+		total.add(s);
+		total.elapsed += s.elapsed;
+		last = s;
+	}
+
+	@Override
+	public synchronized long getSearches(){
+		return searches;
+	}
+
+	@Override
+	public synchronized long getBookMoves(){
+		return bookmoves;
+	}
+
+	@Override
+	public synchronized long getNodes(){
+		return total.nodes;
+	}
+
+	@Override
+	public synchronized long getSearchTimeMillis(){
+		return total.elapsed / 1000000;
+	}
+
+	@Override
+	public synchronized long getNodesPerSecond(){
+		return total.nodesPerSecond();
+	}
+
+	@Override
+	public synchronized int getMaxDepth(){
+		return total.maxdepth;
+	}
+
+	@Override
+	public synchronized long getMaxCutoffs(){
+		return total.maxprun;
+	}
+
+	@Override
+	public synchronized long getMinCutoffs(){
+		return total.minprun;
+	}
+
+	@Override
+	public synchronized long getTranspositionCutoffs(){
+		return total.ttcutoffs;
+	}
+
+	@Override
+	public synchronized long getTranspositionHitRate(){
+		return total.ttHitRate();
+	}
+
+	@Override
+	public synchronized long getBitbaseHits(){
+		return total.bbhits;
+	}
+
+	@Override
+	public synchronized long getQuiescenceNodes(){
+		return total.qnodes;
+	}
+
+	@Override
+	public synchronized int getLastSearchDepth(){
+		return last.searchdepth;
+	}
+
+	@Override
+	public synchronized long getLastNodesPerSecond(){
+		return last.nodesPerSecond();
+	}
+
+	@Override
+	public synchronized long getLastTimeToBestMoveMillis(){
+		return last.timetobest / 1000000;
+	}
+
+	@Override
+	public synchronized void reset(){
+		searches = 0;
+		bookmoves = 0;
+		total = new SearchStats();
+		last = new SearchStats();
+	}
+}
@@ -0,0 +1,46 @@
+package MiniCheckers;
+
+/**
+ * This file defines the interface EngineMetricsMBean, the management interface of EngineMetrics.
+ * The attributes are the totals over all the searches since the engine started or was last reset.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public interface EngineMetricsMBean {
+
+	public long getSearches();
+
+	public long getBookMoves();
+
+	public long getNodes();
+
+	public long getSearchTimeMillis();
+
+	public long getNodesPerSecond();
+
+	public int getMaxDepth();
+
+	public long getMaxCutoffs();
+
+	public long getMinCutoffs();
+
+	public long getTranspositionCutoffs();
+
+	public long getTranspositionHitRate();
+
+	public long getBitbaseHits();
+
+	public long getQuiescenceNodes();
+
+	/**
+	 * Attributes of the last search
+	 */
+	public int getLastSearchDepth();
+
+	public long getLastNodesPerSecond();
+
+	public long getLastTimeToBestMoveMillis();
+
+	public void reset();
+}
@@ -0,0 +1,203 @@
+package MiniCheckers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * This file defines the class GameController, which hands the turns between the human and the computer.
+ *
+ * The human moves on the event dispatch thread (SquareListener -> DrawBoard.toMove()), which calls
+ * humanMoved(). It hands a copy of the board to the engine executor, a single thread which runs every
+ * computer turn, so the computer starts thinking as soon as the human has moved and the GUI stays
+ * responsive meanwhile. The computer's move is shown on the event dispatch thread again. If the human
+ * then has no legal move, the computer moves again at once; otherwise the engine ponders until the
+ * human's next move (see Checkers.startPondering()).
+ *
+ * Every computer turn is submitted to the executor after the human's move is on the board, so the
+ * board the engine gets is the one the human left. awaitEnd() blocks until the game is over.
+ *
+ * The statistics of every computer move are logged at level FINE (java.util.logging), so they are only
+ * written when the logging configuration asks for them; EngineMetrics and SearchEvent report them as well.
+ *
+ * If a GameRecorder is given, every board of the game is handed to it, and the game is written when it is over.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class GameController {
+
+	final static private Logger LOG = Logger.getLogger(GameController.class.getName());
+
+	private final Checkers c;
+	private final DrawBoard b;
+	private final GameRecorder recorder; // null if the game is not recorded
+
+	// runs the computer turns, one at a time
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory(){
+		@Override
+		public Thread newThread(Runnable r){
+			Thread t = new Thread(r, "Engine");
+			t.setDaemon(true);
+			return t;
+		}
+	});
+
+	// counted down when the game is over, gameresult is its utility
+	private final CountDownLatch over = new CountDownLatch(1);
+	private volatile int gameresult = Checkers.NONTERMINAL;
+
+	// the number of computer moves so far, only used by the engine thread
+	private int treenum = 0;
+
+	public GameController(Checkers c, DrawBoard b){
+		this(c, b, null);
+	}
+
+	public GameController(Checkers c, DrawBoard b, GameRecorder recorder){
+		super();
+		this.c = c;
+		this.b = b;
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Function start(): begin the game; the computer moves first if the human chose so
+	 */
+	public void start(){
+		b.setController(this);
+		int[][] board = copy(b.getBoard());
+		if(recorder != null){
+			recorder.start(board, b.isPlayed());
+		}
+		if(!end(board) && b.isPlayed()){
+			submit(board);
+		}
+	}
+
+	/**
+	 * Function humanMoved(): the human has moved, let the computer reply
+	 * Called on the event dispatch thread by DrawBoard.toMove()
+	 */
+	public void humanMoved(){
+		int[][] board = copy(b.getBoard());
+		if(recorder != null){
+			recorder.humanMoved(board);
+		}
+		if(!end(board)){
+			submit(board);
+		}
+	}
+
+	/**
+	 * Function awaitEnd(): wait until the game is over, then stop pondering and the engine thread
+	 * @return the utility of the final board: COMPUTERWIN, HUMANWIN or DRAW
+	 */
+	public int awaitEnd() throws InterruptedException{
+		over.await();
+		executor.execute(new Runnable(){
+			@Override
+			public void run(){
+				c.stopPondering();
+			}
+		});
+		executor.shutdown();
+		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		return gameresult;
+	}
+
+	private void submit(final int[][] board){
+		executor.execute(new Runnable(){
+			@Override
+			public void run(){
+				computerTurn(board);
+			}
+		});
+	}
+
+	/**
+	 * Function computerTurn(): find and show the computer moves, on the engine thread
+	 * @param board: the board after the human's move
+	 */
+	private void computerTurn(int[][] board){
+		boolean again = true;
+		while(again){
+			treenum++;
+
+			//Implement Alpha-Beta Algorithm to find the best next move
+			long start = System.nanoTime();
+			final int[][] nextstate = c.alphaBetaSearch(board);
+			final long ms = (System.nanoTime() - start) / 1000000;
+			final long nodes = c.stats.getNodes() + c.stats.getQnodes();
+
+			//log the statistics for the game tree
+			if(LOG.isLoggable(Level.FINE)){
+				LOG.fine("The statistics for the game tree(" + treenum + "):" + System.lineSeparator() + c.stats);
+			}
+
+			//Take the best move, and check if the computer move activates some human pieces
+			final boolean[] played = new boolean[1];
+			final int[][][] shown = new int[1][][];
+			try {
+				SwingUtilities.invokeAndWait(new Runnable(){
+					@Override
+					public void run(){
+						b.toMove(nextstate, false);
+						if(c.checkBoardStatus(b)){
+							b.setPlayed(false);
+						}
+						played[0] = b.isPlayed();
+						shown[0] = copy(b.getBoard());
+						if(recorder != null){ // before the human can move again
+							recorder.computerMoved(shown[0], c.difficultylevel, ms, nodes);
+						}
+					}
+				});
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (InvocationTargetException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+
+			//Check if game over
+			board = shown[0];
+			if(end(board)){
+				return;
+			}
+			again = played[0]; // the human has no legal move, the computer moves again
+		}
+
+		// think on the human's time
+		c.startPondering(board);
+	}
+
+	/**
+	 * Function end(): check if the game is over, and if so wake up awaitEnd()
+	 */
+	private boolean end(int[][] board){
+		int utility = c.terminalTest(board);
+		if(utility == Checkers.NONTERMINAL){
+			return false;
+		}
+		gameresult = utility;
+		if(recorder != null){
+			recorder.end();
+		}
+		over.countDown();
+		return true;
+	}
+
+	private static int[][] copy(int[][] board){
+		int[][] b = new int[board.length][board[0].length];
+		Checkers.copyarray(board, b);
+		return b;
+	}
+}
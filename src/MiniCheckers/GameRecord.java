@@ -0,0 +1,318 @@
+package MiniCheckers;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * This file defines the class GameRecord, one game of the archive in its compact binary form.
+ *
+ * A game is stored as:
+ *     header : one byte, bits 0-1 the difficulty level of the computer, bit 2 set if the computer moved first
+ *     turns  : the number of turns, as a varint
+ *     moves  : for each turn, the index of the action taken in the legal actions of the side to move
+ *              (Position.possibleActs()), in just enough bits for their number: no bit for a forced action
+ *              or a pass, at most 4 bits (12 actions on the 6x6 board); the bits are packed from the highest bit of each
+ *              byte, and the last byte is padded with 0
+ *     engine : for each computer turn, the time the computer took (in milliseconds) and the nodes it searched, as varints
+ * A varint keeps 7 bits per byte, lowest first, with the highest bit set on every byte but the last.
+ *
+ * The turns are those of the GUI (see Position.turn()), so replaying the moves from the start position (Checkerboard.init())
+ * gives every position of the game and its result; nothing else needs to be stored. The replay also tells how
+ * many bits each move takes, so the moves are read and replayed together.
+ *
+ * A file of records (FILENAME) starts with the magic number MAGIC, followed by the games one after the other.
+ * GameRecorder appends each game when it ends; read() reads the next game into this record, so a reader can go
+ * through any number of games with one GameRecord (see GameReplay).
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class GameRecord {
+
+	final static public String FILENAME = "games.record";
+	final static public int MAGIC = 0x4D434752; // "MCGR"
+
+	/**
+	 * The game:
+	 * difficultylevel : the difficulty level of the computer's moves (the last one, if it was changed during the game)
+	 * computerfirst : true if the computer moved first
+	 * turns : the number of turns
+	 * acts : the action of each turn, 0 for a pass
+	 * computerturns : the number of computer turns
+	 * ms, nodes : for each computer turn, the time the computer took in milliseconds and the nodes it searched
+	 */
+	int difficultylevel = 1;
+	boolean computerfirst = false;
+	int turns = 0;
+	int[] acts = new int[64];
+	int computerturns = 0;
+	long[] ms = new long[32];
+	long[] nodes = new long[32];
+
+	/**
+	 * Replay state:
+	 * position : the position after the last turn
+	 * computer : true if the computer is to move
+	 */
+	final Position position = new Position();
+	boolean computer = false;
+
+	// the start position of every game
+	private final static Position START = start();
+
+	// the legal actions of a turn
+	private final int[] legal = new int[position.getGeometry().getMaxmoves()];
+
+	// bits read or written but not yet complete to a byte, and their number
+	private int bitbuffer = 0;
+	private int bitcount = 0;
+
+	/**
+	 * Function start(): begin a new game from the start position
+	 */
+	public void start(int difficultylevel, boolean computerfirst){
+		this.difficultylevel = difficultylevel;
+		this.computerfirst = computerfirst;
+		this.turns = 0;
+		this.computerturns = 0;
+		position.human = START.human;
+		position.computer = START.computer;
+		position.htoend = START.htoend;
+		position.ctoend = START.ctoend;
+		position.hash = START.hash;
+		position.fliphash = START.fliphash;
+		computer = computerfirst;
+	}
+
+	private static Position start(){
+		Checkerboard c = new Checkerboard();
+		c.init();
+		return new Position(c.getBoard());
+	}
+
+	/**
+	 * Function add(): take a turn of the side to move and add it to the game
+	 * @param act: the action, 0 for a pass; it must be legal
+	 * @param ms, nodes: the time and the nodes of a computer turn, not used for a human turn
+	 */
+	public void add(int act, long ms, long nodes){
+		if(turns == acts.length){
+			acts = Arrays.copyOf(acts, 2 * turns);
+		}
+		if(computer){
+			if(computerturns == this.ms.length){
+				this.ms = Arrays.copyOf(this.ms, 2 * computerturns);
+				this.nodes = Arrays.copyOf(this.nodes, 2 * computerturns);
+			}
+			this.ms[computerturns] = ms;
+			this.nodes[computerturns] = nodes;
+			computerturns++;
+		}
+		acts[turns++] = act;
+		computer = position.turn(act, computer);
+	}
+
+	public int getDifficultylevel(){
+		return difficultylevel;
+	}
+
+	public boolean isComputerfirst(){
+		return computerfirst;
+	}
+
+	public int getTurns(){
+		return turns;
+	}
+
+	public int getComputerturns(){
+		return computerturns;
+	}
+
+	public int getAct(int turn){
+		return acts[turn];
+	}
+
+	public long getMs(int computerturn){
+		return ms[computerturn];
+	}
+
+	public long getNodes(int computerturn){
+		return nodes[computerturn];
+	}
+
+	/**
+	 * Function getResult(): the utility of the final position: COMPUTERWIN, HUMANWIN or DRAW,
+	 * NONTERMINAL if the game was not finished
+	 */
+	public int getResult(){
+		return position.terminalTest();
+	}
+
+	/**
+	 * Function write(): write the game, replaying it from the start to find the index of each action
+	 * @throws IllegalStateException if an action is not legal in the replay
+	 */
+	public void write(OutputStream out) throws IOException{
+		out.write((difficultylevel & 3) | (computerfirst ? 4 : 0));
+		writeVarint(out, turns);
+
+		GameRecord replay = new GameRecord();
+		replay.start(difficultylevel, computerfirst);
+		bitbuffer = 0;
+		bitcount = 0;
+		for(int t = 0; t < turns; t++){
+			int n = replay.position.possibleActs(replay.computer, replay.legal);
+			int index = indexOf(replay.legal, n, acts[t]);
+			if(index < 0){
+				throw new IllegalStateException("Turn " + t + " of the game is not a legal action");
+			}
+			writeBits(out, index, bits(n));
+			replay.computer = replay.position.turn(acts[t], replay.computer);
+		}
+		if(bitcount > 0){ // pad the last byte
+			out.write(bitbuffer << (8 - bitcount));
+			bitcount = 0;
+		}
+
+		for(int t = 0; t < computerturns; t++){
+			writeVarint(out, ms[t]);
+			writeVarint(out, nodes[t]);
+		}
+	}
+
+	/**
+	 * Function read(): read the next game of a stream into this record, replaying its moves
+	 * @return false if the stream has no more games
+	 * @throws EOFException if the stream ends within a game
+	 * @throws IOException if the game is not valid
+	 */
+	public boolean read(InputStream in) throws IOException{
+		int header = in.read();
+		if(header < 0){
+			return false;
+		}
+		start(header & 3, (header & 4) != 0);
+		int n = (int) readVarint(in);
+		bitcount = 0;
+		for(int t = 0; t < n; t++){
+			int count = position.possibleActs(computer, legal);
+			int index = readBits(in, bits(count));
+			if(index >= Math.max(count, 1)){
+				throw new IOException("Not a valid game record: turn " + t);
+			}
+			add(count == 0 ? 0 : legal[index], 0, 0);
+		}
+		for(int t = 0; t < computerturns; t++){
+			ms[t] = readVarint(in);
+			nodes[t] = readVarint(in);
+		}
+		return true;
+	}
+
+	/**
+	 * Function append(): add the game at the end of a file of records, which is created if needed
+	 */
+	public void append(File file) throws IOException{
+		boolean empty = !file.exists() || file.length() == 0;
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))){
+			if(empty){
+				out.writeInt(MAGIC);
+			}
+			write(out);
+		}
+	}
+
+	/**
+	 * Function readMagic(): read the start of a file of records
+	 * @throws IOException if the stream is not a file of records
+	 */
+	public static void readMagic(InputStream in) throws IOException{
+		int magic = 0;
+		for(int i = 0; i < 4; i++){
+			int b = in.read();
+			if(b < 0){
+				throw new EOFException("Not a game record file");
+			}
+			magic = (magic << 8) | b;
+		}
+		if(magic != MAGIC){
+			throw new IOException("Not a game record file");
+		}
+	}
+
+	/**
+	 * Function bits(): the number of bits of an index among n actions
+	 */
+	static int bits(int n){
+		return (n <= 1) ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1);
+	}
+
+	private static int indexOf(int[] acts, int n, int act){
+		if(n == 0){
+			return (act == 0) ? 0 : -1;
+		}
+		for(int i = 0; i < n; i++){
+			if(acts[i] == act){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void writeBits(OutputStream out, int value, int bits) throws IOException{
+		for(int i = bits - 1; i >= 0; i--){
+			bitbuffer = (bitbuffer << 1) | ((value >>> i) & 1);
+			if(++bitcount == 8){
+				out.write(bitbuffer);
+				bitbuffer = 0;
+				bitcount = 0;
+			}
+		}
+	}
+
+	private int readBits(InputStream in, int bits) throws IOException{
+		int value = 0;
+		for(int i = 0; i < bits; i++){
+			if(bitcount == 0){
+				bitbuffer = in.read();
+				if(bitbuffer < 0){
+					throw new EOFException("The game record is cut off");
+				}
+				bitcount = 8;
+			}
+			bitcount--;
+			value = (value << 1) | ((bitbuffer >>> bitcount) & 1);
+		}
+		return value;
+	}
+
+	private static void writeVarint(OutputStream out, long value) throws IOException{
+		while((value & ~0x7FL) != 0){
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long readVarint(InputStream in) throws IOException{
+		long value = 0;
+		for(int shift = 0; shift < 64; shift += 7){
+			int b = in.read();
+			if(b < 0){
+				throw new EOFException("The game record is cut off");
+			}
+			value |= (long) (b & 0x7F) << shift;
+			if((b & 0x80) == 0){
+				return value;
+			}
+		}
+		throw new IOException("Not a valid game record: varint too long");
+	}
+}
@@ -0,0 +1,127 @@
+package MiniCheckers;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * This file defines the class GameRecorder, which records the games of the GUI into a file of GameRecord.
+ *
+ * GameController tells it every board the game goes through: the start, each human move, each computer move
+ * (with the time and the nodes of its search). The board only shows where the pieces are, so each move is
+ * found among the legal actions of the side to move as the one whose turn (Position.turn()) gives that board.
+ * When the game is over, end() appends it to the file.
+ *
+ * If a board can not be reached by a legal action (it should not happen), the rest of the game is not recorded
+ * and the game is not written, so the file only holds games which replay.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class GameRecorder {
+
+	final static private Logger LOG = Logger.getLogger(GameRecorder.class.getName());
+
+	private final File file;
+	private final GameRecord record = new GameRecord();
+
+	// false when no game is being recorded
+	private boolean recording = false;
+
+	// the legal actions of a turn
+	private final int[] legal = new int[record.position.getGeometry().getMaxmoves()];
+
+	public GameRecorder(File file){
+		super();
+		this.file = file;
+	}
+
+	public File getFile(){
+		return file;
+	}
+
+	/**
+	 * Function start(): begin recording a game
+	 * @param board: the board at the start, which must be the start position
+	 * @param computerfirst: true if the computer moves first
+	 */
+	public synchronized void start(int[][] board, boolean computerfirst){
+		record.start(1, computerfirst);
+		recording = record.position.equals(new Position(board));
+		if(!recording){
+			LOG.warning("The game is not recorded: it does not start from the start position");
+		}
+	}
+
+	/**
+	 * Function humanMoved(): record the human's move
+	 * @param board: the board after the move
+	 */
+	public synchronized void humanMoved(int[][] board){
+		if(recording && record.computer){
+			desync();
+		}
+		add(board, 0, 0);
+	}
+
+	/**
+	 * Function computerMoved(): record the computer's move, or its pass
+	 * @param board: the board after the move, as shown to the human
+	 * @param difficultylevel: the difficulty level the computer played
+	 * @param ms: the time the computer took, in milliseconds
+	 * @param nodes: the nodes it searched
+	 */
+	public synchronized void computerMoved(int[][] board, int difficultylevel, long ms, long nodes){
+		if(recording && !record.computer){
+			desync();
+		}
+		record.difficultylevel = difficultylevel;
+		add(board, ms, nodes);
+	}
+
+	/**
+	 * Function end(): the game is over, append it to the file
+	 */
+	public synchronized void end(){
+		if(!recording){
+			return;
+		}
+		recording = false;
+		try{
+			record.append(file);
+		} catch (IOException e){
+			LOG.warning("The game could not be recorded: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Function add(): find the legal action which leads to board and add it to the game
+	 */
+	private void add(int[][] board, long ms, long nodes){
+		if(!recording){
+			return;
+		}
+		Position target = new Position(board);
+		Position p = record.position;
+		int n = p.possibleActs(record.computer, legal);
+		if(n == 0){
+			legal[n++] = 0; // the pass
+		}
+		for(int i = 0; i < n; i++){
+			Position next = new Position(p);
+			next.turn(legal[i], record.computer);
+			if(next.equals(target)){
+				record.add(legal[i], ms, nodes);
+				return;
+			}
+		}
+		desync();
+	}
+
+	private void desync(){
+		if(recording){
+			recording = false;
+			LOG.warning("The game is not recorded: a move could not be found among the legal actions");
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package MiniCheckers;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This file defines the class GameReplay, a command line tool that replays a file of game records (see GameRecord).
+ *
+ * The games are read and replayed one at a time into the same GameRecord, so the memory does not grow with the
+ * number of games in the file.
+ *
+ * Modes:
+ *     games   : one line per game: the difficulty level, who moved first, the number of turns, the result,
+ *               and the engine statistics of the computer turns (time per move, nodes, nodes per second);
+ *               then the summary
+ *     summary : only the totals, per difficulty level and for all the games
+ *
+ * Usage: GameReplay [file, default GameRecord.FILENAME] [mode, default summary]
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class GameReplay {
+
+	/**
+	 * This class defines the totals of a set of games
+	 */
+	static class Totals {
+		long games;
+		long computerwins;
+		long humanwins;
+		long draws;
+		long unfinished;
+		long turns;
+		long computerturns;
+		long ms;
+		long maxms;
+		long nodes;
+
+		void add(GameRecord r){
+			games++;
+			int result = r.getResult();
+			if(result == Checkers.COMPUTERWIN){
+				computerwins++;
+			}
+			else if(result == Checkers.HUMANWIN){
+				humanwins++;
+			}
+			else if(result == Checkers.DRAW){
+				draws++;
+			}
+			else{
+				unfinished++;
+			}
+			turns += r.getTurns();
+			computerturns += r.getComputerturns();
+			for(int t = 0; t < r.getComputerturns(); t++){
+				ms += r.getMs(t);
+				maxms = Math.max(maxms, r.getMs(t));
+				nodes += r.getNodes(t);
+			}
+		}
+
+		void print(String name){
+			if(games == 0){
+				return;
+			}
+			System.out.printf("%-8s %10d %8d %8d %8d %8d %8.1f %10.1f %8d %12.0f %12d%n", name, games, computerwins, humanwins,
+					draws, unfinished, (double) turns / games, (double) ms / Math.max(computerturns, 1), maxms,
+					(double) nodes / Math.max(computerturns, 1), nodes * 1000 / Math.max(ms, 1));
+		}
+	}
+
+	public static void main(String[] args) throws IOException{
+		File file = new File(args.length > 0 ? args[0] : GameRecord.FILENAME);
+		boolean games = args.length > 1 && args[1].equals("games");
+
+		GameRecord r = new GameRecord();
+		Totals all = new Totals();
+		Totals[] levels = {new Totals(), new Totals(), new Totals(), new Totals()};
+		long start = System.nanoTime();
+		try(InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16)){
+			GameRecord.readMagic(in);
+			if(games){
+				System.out.printf("%-8s %5s %6s %6s %-12s %6s %10s %8s %12s %12s%n", "game", "level", "first", "turns", "result",
+						"moves", "ms/move", "max ms", "nodes", "nodes/s");
+			}
+			while(r.read(in)){
+				all.add(r);
+				levels[r.getDifficultylevel()].add(r);
+				if(games){
+					print(all.games, r);
+				}
+			}
+		}
+		long ns = System.nanoTime() - start;
+
+		System.out.printf("%-8s %10s %8s %8s %8s %8s %8s %10s %8s %12s %12s%n", "level", "games", "computer", "human", "draw",
+				"unfinish", "turns", "ms/move", "max ms", "nodes/move", "nodes/s");
+		String[] names = {"0", "easy", "medium", "hard"};
+		for(int level = 0; level < levels.length; level++){
+			levels[level].print(names[level]);
+		}
+		all.print("all");
+		if(all.games > 0){
+			System.out.printf("%d bytes, %.1f bytes per game; replayed in %d ms, %d games/s%n", file.length(),
+					(double) file.length() / all.games, ns / 1000000, all.games * 1000000000L / Math.max(ns, 1));
+		}
+	}
+
+	/**
+	 * Function print(): the line of one game
+	 */
+	private static void print(long number, GameRecord r){
+		long ms = 0;
+		long maxms = 0;
+		long nodes = 0;
+		for(int t = 0; t < r.getComputerturns(); t++){
+			ms += r.getMs(t);
+			maxms = Math.max(maxms, r.getMs(t));
+			nodes += r.getNodes(t);
+		}
+		String result;
+		switch(r.getResult()){
+		case Checkers.COMPUTERWIN:
+			result = "computer";
+			break;
+		case Checkers.HUMANWIN:
+			result = "human";
+			break;
+		case Checkers.DRAW:
+			result = "draw";
+			break;
+		default:
+			result = "unfinished";
+		}
+		System.out.printf("%-8d %5d %6s %6d %-12s %6d %10.1f %8d %12d %12d%n", number, r.getDifficultylevel(),
+				r.isComputerfirst() ? "cmp" : "human", r.getTurns(), result, r.getComputerturns(),
+				(double) ms / Math.max(r.getComputerturns(), 1), maxms, nodes, nodes * 1000 / Math.max(ms, 1));
+	}
+}
@@ -0,0 +1,268 @@
+package MiniCheckers;
+
+/**
+ * This file defines the class Geometry, the shape of a board of any even size n from 4 to 10 for Position.
+ *
+ * The rules are those of the 6x6 game of the GUI on a bigger board: only the n*n/2 dark squares
+ * (row%2 != col%2) hold pieces, and each side starts on the (n-2)/2 rows next to its edge, so the 8x8
+ * board has 12 pieces a side on 32 squares and the 10x10 board 20 pieces a side on 50 squares.
+ * The square (row,col) is numbered row*h + col/2 with h = n/2, the scan order of the int[n][n] board.
+ * Every bitmask over the squares fits in one long, so the moves of one side are still found with a few
+ * shifts and masks: a piece on an even row moves forward by h or h+1 squares, a piece on an odd row
+ * by h-1 or h, and the opposite way for the other side.
+ *
+ * One Geometry is made per size and shared by all the positions of that size (see of()).
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public final class Geometry {
+
+	final static public int MINSIZE = 4;
+	final static public int MAXSIZE = 10;
+
+	// one geometry per size, made on first use
+	final static private Geometry[] GEOMETRIES = new Geometry[MAXSIZE + 1];
+
+	/**
+	 * The board:
+	 * size : the number of rows and columns, half : the number of dark squares in a row
+	 * squares : the number of dark squares, pieces : the number of pieces of each side at the start
+	 * maxmoves : the most actions a side can have, each piece has at most 2 actions
+	 */
+	final int size;
+	final int half;
+	final int squares;
+	final int pieces;
+	final int maxmoves;
+
+	/**
+	 * Define the masks over the dark squares:
+	 * all : all the dark squares
+	 * evenrows/oddrows : the dark squares in the even rows and in the odd rows
+	 * leftcol/rightcol : the first and the last dark square of each row
+	 * toprow/bottomrow : the row where human pieces reach the end, the row where computer pieces reach the end
+	 * computerstart/humanstart : the squares of the pieces of each side at the start
+	 */
+	final long all;
+	final long evenrows;
+	final long oddrows;
+	final long leftcol;
+	final long rightcol;
+	final long toprow;
+	final long bottomrow;
+	final long computerstart;
+	final long humanstart;
+
+	// the masks and the shifts of the moves, see downLeft() and the others
+	private final long evennotright;
+	private final long oddnotleft;
+	private final int shortshift;
+	private final int longshift;
+
+	// overs[from * squares + to]: the square jumped over by a jump from one square to another
+	private final byte[] overs;
+
+	/**
+	 * Zobrist keys: one random number for each kind of piece on each square, and one for the computer to move.
+	 * The seed is fixed so the hash of a position is the same in every run.
+	 * flipzobrist[kind][s] is the key the same piece has in the flipped position (see Position.flip()):
+	 * the other side's kind, on the square turned by 180 degrees.
+	 * keys holds both, side by side, for make()/unmake(): keys[2*(kind*squares+s)] and keys[2*(kind*squares+s)+1].
+	 */
+	final long[][] zobrist;
+	final long[][] flipzobrist;
+	final long[] keys;
+	final long computertomove;
+
+	private Geometry(int size){
+		super();
+		this.size = size;
+		this.half = size / 2;
+		this.squares = size * half;
+		int startrows = (size - 2) / 2;
+		this.pieces = startrows * half;
+		this.maxmoves = 2 * pieces;
+
+		long all = 0, evenrows = 0, leftcol = 0, rightcol = 0, toprow = 0, bottomrow = 0, computerstart = 0, humanstart = 0;
+		for(int s = 0; s < squares; s++){
+			long bit = 1L << s;
+			int row = s / half;
+			all |= bit;
+			if(row % 2 == 0){
+				evenrows |= bit;
+			}
+			if(s % half == 0){
+				leftcol |= bit;
+			}
+			if(s % half == half - 1){
+				rightcol |= bit;
+			}
+			if(row == 0){
+				toprow |= bit;
+			}
+			if(row == size - 1){
+				bottomrow |= bit;
+			}
+			if(row < startrows){
+				computerstart |= bit;
+			}
+			if(row >= size - startrows){
+				humanstart |= bit;
+			}
+		}
+		this.all = all;
+		this.evenrows = evenrows;
+		this.oddrows = all & ~evenrows;
+		this.leftcol = leftcol;
+		this.rightcol = rightcol;
+		this.toprow = toprow;
+		this.bottomrow = bottomrow;
+		this.computerstart = computerstart;
+		this.humanstart = humanstart;
+		this.evennotright = evenrows & ~rightcol;
+		this.oddnotleft = oddrows & ~leftcol;
+		this.shortshift = half - 1;
+		this.longshift = half + 1;
+
+		this.overs = new byte[squares * squares];
+		for(int from = 0; from < squares; from++){
+			for(int dr = -2; dr <= 2; dr += 4){
+				for(int dc = -2; dc <= 2; dc += 4){
+					int row = row(from) + dr;
+					int col = col(from) + dc;
+					if(row >= 0 && row < size && col >= 0 && col < size){
+						overs[from * squares + square(row, col)] = (byte) square(row(from) + dr / 2, col(from) + dc / 2);
+					}
+				}
+			}
+		}
+
+		java.util.Random r = new java.util.Random(20170309L);
+		this.zobrist = new long[4][squares];
+		for(int k = 0; k < 4; k++){
+			for(int s = 0; s < squares; s++){
+				zobrist[k][s] = r.nextLong();
+			}
+		}
+		this.computertomove = r.nextLong();
+		this.flipzobrist = new long[4][squares];
+		for(int k = 0; k < 4; k++){
+			for(int s = 0; s < squares; s++){
+				flipzobrist[k][s] = zobrist[k ^ 1][squares - 1 - s];
+			}
+		}
+		this.keys = new long[8 * squares];
+		for(int k = 0; k < 4; k++){
+			for(int s = 0; s < squares; s++){
+				keys[2 * (k * squares + s)] = zobrist[k][s];
+				keys[2 * (k * squares + s) + 1] = flipzobrist[k][s];
+			}
+		}
+	}
+
+	/**
+	 * Function of(): the geometry of the n x n board
+	 * @param size: an even number from MINSIZE to MAXSIZE
+	 */
+	public static synchronized Geometry of(int size){
+		if(!isSize(size)){
+			throw new IllegalArgumentException("Board size must be even, from " + MINSIZE + " to " + MAXSIZE + ": " + size);
+		}
+		if(GEOMETRIES[size] == null){
+			GEOMETRIES[size] = new Geometry(size);
+		}
+		return GEOMETRIES[size];
+	}
+
+	/**
+	 * Function isSize(): check if there is a geometry of the n x n board, an even n from MINSIZE to MAXSIZE
+	 */
+	public static boolean isSize(int size){
+		return size >= MINSIZE && size <= MAXSIZE && size % 2 == 0;
+	}
+
+	public int getSize(){
+		return size;
+	}
+
+	public int getSquares(){
+		return squares;
+	}
+
+	public int getPieces(){
+		return pieces;
+	}
+
+	public int getMaxmoves(){
+		return maxmoves;
+	}
+
+	public int square(int row, int col){
+		return row * half + col / 2;
+	}
+
+	public int row(int square){
+		return square / half;
+	}
+
+	public int col(int square){
+		return 2 * (square % half) + (((square / half) % 2 == 0) ? 1 : 0);
+	}
+
+	/**
+	 * Function over(): the square jumped over by a jump from one square to another
+	 */
+	public int over(int from, int to){
+		return overs[from * squares + to];
+	}
+
+	/**
+	 * Function mirror(): turn the squares of a bitmask by 180 degrees, square s becomes square squares-1-s
+	 */
+	long mirror(long m){
+		return Long.reverse(m) >>> (64 - squares);
+	}
+
+	/**
+	 * The squares reached by moving every piece in m one row forward:
+	 * downLeft/downRight for computer pieces, upLeft/upRight for human pieces.
+	 * downLeft is undone by upRight and downRight by upLeft.
+	 */
+	long downLeft(long m){
+		return (((m & evenrows) << half) | ((m & oddnotleft) << shortshift)) & all;
+	}
+
+	long downRight(long m){
+		return (((m & evennotright) << longshift) | ((m & oddrows) << half)) & all;
+	}
+
+	long upLeft(long m){
+		return ((m & evenrows) >>> half) | ((m & oddnotleft) >>> longshift);
+	}
+
+	long upRight(long m){
+		return ((m & evennotright) >>> shortshift) | ((m & oddrows) >>> half);
+	}
+
+	long forwardLeft(long m, boolean computer){
+		return computer ? downLeft(m) : upLeft(m);
+	}
+
+	long forwardRight(long m, boolean computer){
+		return computer ? downRight(m) : upRight(m);
+	}
+
+	long backLeft(long m, boolean computer){
+		return computer ? upRight(m) : downRight(m);
+	}
+
+	long backRight(long m, boolean computer){
+		return computer ? upLeft(m) : downLeft(m);
+	}
+
+	@Override
+	public String toString(){
+		return size + "x" + size;
+	}
+}
@@ -0,0 +1,59 @@
+package MiniCheckers;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This file defines the class ModeComparison, a command line tool that compares the search modes:
+ * plain Alpha-Beta and principal variation search with aspiration windows (see class Search).
+ *
+ * Every position of SearchPositions is searched twice to the same cutoff level, with an empty
+ * transposition table and without time limit, once in each mode. The node counts and the root values
+ * of both searches are printed, together with the number of re-searches of the PVS search.
+ * The root values must be the same, the tool reports every position where they are not.
+ *
+ * Usage: ModeComparison [cutoff level, default 20] [difficulty level, default 3]
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class ModeComparison {
+
+	public static void main(String[] args){
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		int difficultylevel = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		long[] total = new long[3];
+		int differences = 0;
+
+		System.out.println("Cutoff level " + depth + ", difficulty level " + difficultylevel);
+		System.out.printf("%-10s %12s %6s | %12s %6s %10s%n", "position", "alpha-beta", "value", "pvs", "value", "researches");
+		for(int i = 0; i < SearchPositions.NAMES.length; i++){
+			Search alphabeta = search(SearchPositions.position(i), difficultylevel, depth, Search.ALPHABETA);
+			Search pvs = search(SearchPositions.position(i), difficultylevel, depth, Search.PVS);
+			System.out.printf("%-10s %12d %6d | %12d %6d %10d%s%n", SearchPositions.NAMES[i],
+					alphabeta.stats.nodes, alphabeta.bestvalue, pvs.stats.nodes, pvs.bestvalue, pvs.stats.researches,
+					alphabeta.bestvalue == pvs.bestvalue ? "" : "  values differ");
+			total[0] += alphabeta.stats.nodes;
+			total[1] += pvs.stats.nodes;
+			total[2] += pvs.stats.researches;
+			if(alphabeta.bestvalue != pvs.bestvalue){
+				differences++;
+			}
+		}
+		System.out.printf("%-10s %12d %6s | %12d %6s %10d%n", "total", total[0], "", total[1], "", total[2]);
+		System.out.printf("Nodes with principal variation search: %.1f%% of the nodes with plain Alpha-Beta%n", 100.0 * total[1] / Math.max(total[0], 1));
+		if(differences > 0){
+			System.out.println("The root values differ in " + differences + " positions");
+		}
+	}
+
+	/**
+	 * Function search(): run one worker from an empty transposition table up to the cutoff level
+	 */
+	private static Search search(Position root, int difficultylevel, int depth, int mode){
+		Search s = new Search(0, root, difficultylevel, new TranspositionTable(Checkers.TTBITS), Long.MAX_VALUE, new AtomicBoolean(false));
+		s.depthlimit = depth;
+		s.mode = mode;
+		s.run();
+		return s;
+	}
+}
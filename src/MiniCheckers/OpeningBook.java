@@ -0,0 +1,189 @@
+package MiniCheckers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This file defines the class OpeningBook, the best computer moves of the first positions of a game.
+ *
+ * Every game begins from the position built by Checkerboard.init(), so the first positions the computer
+ * has to move in are always the same few. The builder (main) walks the tree of these positions for each
+ * difficulty level: the computer plays its best move, found by a long search, and the human plays every
+ * legal move, for both the human moving first and the computer moving first. The turns follow the rules of
+ * the GUI (Position.turn()), so a side may pass or move again and the book holds the positions the computer
+ * really meets. The best computer moves are written to a file, which is loaded at startup; alphaBetaSearch
+ * takes the book move without searching.
+ *
+ * The file starts with the magic number MAGIC; then for each difficulty level 1..LEVELS the number of
+ * positions, followed by (Zobrist key of the position with the computer to move, action as a short)
+ * pairs sorted by key. Only positions with the computer to move are kept, so the keys are canonical
+ * (see Position.canonicalKey()); with the human to move, Engine looks up the flipped position.
+ *
+ * Usage: OpeningBook [computer moves per line, default 3] [milliseconds per position, default 1000] [file, default FILENAME]
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class OpeningBook {
+
+	final static public String FILENAME = "opening.book";
+	final static public int MAGIC = 0x4D434F32; // "MCO2"
+	final static public int LEVELS = 3;
+
+	// per difficulty level: the sorted keys and the action of each key
+	private final long[][] keys = new long[LEVELS + 1][];
+	private final int[][] acts = new int[LEVELS + 1][];
+
+	private OpeningBook(){
+		super();
+	}
+
+	/**
+	 * Function lookup(): find the book move of a position
+	 * @param p: the position, the computer is to move
+	 * @param difficultylevel: the difficulty level the move was searched with
+	 * @return the action, or 0 if the position is not in the book; the book only holds positions of the 6x6 board
+	 */
+	public int lookup(Position p, int difficultylevel){
+		if(difficultylevel < 1 || difficultylevel > LEVELS || p.getGeometry().getSize() != Checkerboard.SIZE){
+			return 0;
+		}
+		int i = java.util.Arrays.binarySearch(keys[difficultylevel], p.canonicalKey(true));
+		if(i < 0){
+			return 0;
+		}
+		int act = acts[difficultylevel][i];
+
+		// make sure the action is legal, in case two positions have the same key
+		int[] legal = new int[p.getGeometry().getMaxmoves()];
+		int n = p.possibleActs(true, legal);
+		for(int a = 0; a < n; a++){
+			if(legal[a] == act){
+				return act;
+			}
+		}
+		return 0;
+	}
+
+	public int size(int difficultylevel){
+		return keys[difficultylevel].length;
+	}
+
+	/**
+	 * Function load(): read a book written by the builder
+	 * @param file: the book file
+	 * @return the book, or null if the file does not exist
+	 */
+	public static OpeningBook load(File file) throws IOException{
+		if(!file.exists()){
+			return null;
+		}
+		OpeningBook book = new OpeningBook();
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))){
+			if(in.readInt() != MAGIC){
+				throw new IOException("Not an opening book: " + file);
+			}
+			for(int level = 1; level <= LEVELS; level++){
+				int n = in.readInt();
+				book.keys[level] = new long[n];
+				book.acts[level] = new int[n];
+				for(int i = 0; i < n; i++){
+					book.keys[level][i] = in.readLong();
+					book.acts[level][i] = in.readShort() & 0xFFFF;
+				}
+			}
+		}
+		return book;
+	}
+
+	/**
+	 * Function build(): search the opening positions of one difficulty level
+	 * @param moves: the number of computer moves in each line of the book
+	 * @param ms: the time to search each position, in milliseconds
+	 * @param bitbase: the endgame bitbase, null if there is none
+	 * @return the best action of each position, by key
+	 */
+	public static TreeMap<Long, Integer> build(int difficultylevel, int moves, long ms, EndgameBitbase bitbase){
+		TreeMap<Long, Integer> book = new TreeMap<Long, Integer>();
+		Set<Long> visited = new HashSet<Long>();
+		TranspositionTable tt = new TranspositionTable(Checkers.TTBITS);
+		Checkerboard c = new Checkerboard();
+		c.init();
+		Position start = new Position(c.getBoard());
+
+		expand(start, true, moves, difficultylevel, ms, bitbase, tt, book, visited); // computer moves first
+		expand(start, false, moves, difficultylevel, ms, bitbase, tt, book, visited); // human moves first
+		return book;
+	}
+
+	/**
+	 * Function expand(): add the positions reachable from p to the book
+	 * @param computer: true if the computer is to move in p
+	 * @param moves: the number of computer moves still to add in this line
+	 */
+	private static void expand(Position p, boolean computer, int moves, int difficultylevel, long ms, EndgameBitbase bitbase,
+			TranspositionTable tt, Map<Long, Integer> book, Set<Long> visited){
+		if(p.terminalTest() != Checkers.NONTERMINAL || (computer && moves == 0) || !visited.add(p.key(computer))){
+			return;
+		}
+
+		if(computer){
+			Search s = new Search(0, p, difficultylevel, tt, System.currentTimeMillis() + ms, new AtomicBoolean(false));
+			s.bitbase = bitbase;
+			s.run();
+			int act = 0; // the computer passes if it has no legal move
+			if(s.bestvalue != Checkers.CHANGETURN){
+				act = s.bestact;
+				book.put(p.canonicalKey(true), act);
+			}
+			Position next = new Position(p);
+			boolean nextcomputer = next.turn(act, true);
+			expand(next, nextcomputer, moves - 1, difficultylevel, ms, bitbase, tt, book, visited);
+		}
+		else{
+			int[] acts = new int[p.getGeometry().getMaxmoves()];
+			int n = p.possibleActs(false, acts);
+			if(n == 0){
+				acts[n++] = 0; // the pass
+			}
+			for(int a = 0; a < n; a++){
+				Position next = new Position(p);
+				boolean nextcomputer = next.turn(acts[a], false);
+				expand(next, nextcomputer, moves, difficultylevel, ms, bitbase, tt, book, visited);
+			}
+		}
+	}
+
+	public static void main(String[] args) throws IOException{
+		int moves = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+		long ms = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+		File file = new File(args.length > 2 ? args[2] : FILENAME);
+		EndgameBitbase bitbase = EndgameBitbase.open(new File(EndgameBitbase.FILENAME));
+
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))){
+			out.writeInt(MAGIC);
+			for(int level = 1; level <= LEVELS; level++){
+				long start = System.currentTimeMillis();
+				TreeMap<Long, Integer> book = build(level, moves, ms, bitbase);
+				out.writeInt(book.size());
+				for(Map.Entry<Long, Integer> e : book.entrySet()){
+					out.writeLong(e.getKey());
+					out.writeShort(e.getValue());
+				}
+				System.out.println("Difficulty level " + level + ": " + book.size() + " positions in " + (System.currentTimeMillis() - start) + " ms");
+			}
+		}
+		System.out.println("Opening book written to " + file + " (" + file.length() + " bytes)");
+	}
+}
@@ -0,0 +1,53 @@
+package MiniCheckers;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This file defines the class OrderingComparison, a command line tool that shows what the move ordering
+ * heuristics (killer actions and history, see Search.orderActs()) save.
+ *
+ * Every position of SearchPositions is searched twice to the same cutoff level, with an empty
+ * transposition table and without time limit: once with only the stored action moved to the front,
+ * once with the killer and history heuristics. The node and pruning counts of both searches are printed.
+ *
+ * Usage: OrderingComparison [cutoff level, default 20] [difficulty level, default 3]
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class OrderingComparison {
+
+	public static void main(String[] args){
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+		int difficultylevel = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+		long[] total = new long[6];
+
+		System.out.println("Cutoff level " + depth + ", difficulty level " + difficultylevel);
+		System.out.printf("%-10s %12s %10s %10s | %12s %10s %10s%n", "position", "nodes", "maxprun", "minprun", "nodes", "maxprun", "minprun");
+		for(int i = 0; i < SearchPositions.NAMES.length; i++){
+			Search before = search(SearchPositions.position(i), difficultylevel, depth, false);
+			Search after = search(SearchPositions.position(i), difficultylevel, depth, true);
+			System.out.printf("%-10s %12d %10d %10d | %12d %10d %10d%n", SearchPositions.NAMES[i],
+					before.stats.nodes, before.stats.maxprun, before.stats.minprun, after.stats.nodes, after.stats.maxprun, after.stats.minprun);
+			total[0] += before.stats.nodes;
+			total[1] += before.stats.maxprun;
+			total[2] += before.stats.minprun;
+			total[3] += after.stats.nodes;
+			total[4] += after.stats.maxprun;
+			total[5] += after.stats.minprun;
+		}
+		System.out.printf("%-10s %12d %10d %10d | %12d %10d %10d%n", "total", total[0], total[1], total[2], total[3], total[4], total[5]);
+		System.out.printf("Nodes with killer and history heuristics: %.1f%% of the nodes without%n", 100.0 * total[3] / Math.max(total[0], 1));
+	}
+
+	/**
+	 * Function search(): run one worker from an empty transposition table up to the cutoff level
+	 */
+	private static Search search(Position root, int difficultylevel, int depth, boolean heuristics){
+		Search s = new Search(0, root, difficultylevel, new TranspositionTable(Checkers.TTBITS), Long.MAX_VALUE, new AtomicBoolean(false));
+		s.depthlimit = depth;
+		s.heuristics = heuristics;
+		s.run();
+		return s;
+	}
+}
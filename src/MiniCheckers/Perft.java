@@ -0,0 +1,245 @@
+package MiniCheckers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This file defines the class Perft, a command line tool that counts the positions the move generator reaches.
+ *
+ * perft(p, n) is the number of positions at exactly n levels below p, following every legal action of the
+ * side to move (Position.expand(), only jumps if there is any jump). A side without any legal action
+ * passes (CHANGETURN in the search): the pass is one level, like an action. A terminal position above
+ * level n ends its line, it counts as a game end and adds no position.
+ * Any change of the move generator must keep the counts of REFERENCE; the time shows its speed.
+ *
+ * Modes:
+ *     count    : perft of every depth 1..n
+ *     divide   : perft of depth n split by the action of the root (perft of depth n-1 below each action)
+ *     parallel : perft of every depth 1..n, the subtrees are counted on a ForkJoinPool
+ *     verify   : compare perft of the opening with the computer to move against REFERENCE
+ *
+ * Usage: Perft [depth, default 10] [mode, default count] [position of SearchPositions, default opening] [human: the human moves first]
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class Perft {
+
+	// perft of the opening (Checkerboard.init()) with the computer to move, for depth 0, 1, 2, ...
+	final static public long[] REFERENCE = {1, 5, 25, 106, 369, 1271, 4104, 12298, 36223, 99469, 269282, 731596, 1932978,
+		5156550, 13602992, 35514884, 92861452};
+
+	// subtrees more than SPLITDEPTH levels deep are split into parallel tasks
+	final static public int SPLITDEPTH = 6;
+
+	/**
+	 * Counts:
+	 * leaves : the positions at the given depth
+	 * jumps : the jumps taken to reach them, passes : the passes on the way, ends : the games ended above the depth
+	 */
+	long leaves = 0;
+	long jumps = 0;
+	long passes = 0;
+	long ends = 0;
+
+	private final int[][] acts;
+
+	/**
+	 * @param g: the board of the positions to count
+	 * @param maxdepth: the deepest perft this counter may run
+	 */
+	public Perft(Geometry g, int maxdepth){
+		super();
+		acts = new int[maxdepth + 1][g.maxmoves];
+	}
+
+	/**
+	 * Function perft(): count the positions at depth levels below p and add them to the counts
+	 * @param p: the position, changed in place and restored
+	 * @param computer: true if the computer is to move
+	 * @param depth: the number of levels
+	 * @return the number of positions at depth levels below p
+	 */
+	public long perft(Position p, boolean computer, int depth){
+		long count = count(p, computer, depth);
+		leaves += count;
+		return count;
+	}
+
+	private long count(Position p, boolean computer, int depth){
+		if(depth == 0){
+			return 1;
+		}
+		int[] acts = this.acts[depth];
+		int expansion = p.expand(computer, acts);
+		if((expansion & Position.TERMINAL) != 0){
+			ends++;
+			return 0;
+		}
+
+		int n = expansion & Position.COUNT;
+		if(n == 0){ // no legal move, change the turn
+			passes++;
+			long movers = p.makePass(computer);
+			long count = count(p, !computer, depth-1);
+			p.unmakePass(computer, movers);
+			return count;
+		}
+		if((expansion & Position.FORCEDJUMP) != 0){ // only jumps or only regular moves
+			jumps += n;
+		}
+		if(depth == 1){ // every action reaches one position
+			return n;
+		}
+
+		long count = 0;
+		for(int a = 0; a < n; a++){
+			int captured = p.make(acts[a], computer);
+			count += count(p, !computer, depth-1);
+			p.unmake(acts[a], computer, captured);
+		}
+		return count;
+	}
+
+	/**
+	 * Function divide(): perft of depth-1 below each action of the root; a root without legal move has one line, the pass
+	 * @return the actions of the root (0 for the pass) and their counts
+	 */
+	public List<long[]> divide(Position p, boolean computer, int depth){
+		List<long[]> lines = new ArrayList<long[]>();
+		int[] acts = new int[p.g.maxmoves];
+		int n = (p.terminalTest() == Checkers.NONTERMINAL) ? p.possibleActs(computer, acts) : -1;
+		if(n == 0){
+			passes++;
+			lines.add(new long[]{0, perft(p.pass(computer), !computer, depth-1)});
+		}
+		for(int a = 0; a < n; a++){
+			if(Position.isJump(acts[a])){
+				jumps++;
+			}
+			lines.add(new long[]{acts[a], perft(p.Move(acts[a], computer), !computer, depth-1)});
+		}
+		return lines;
+	}
+
+	/**
+	 * Function parallelPerft(): perft on a ForkJoinPool, the counts of all the tasks are added to this counter
+	 */
+	public long parallelPerft(ForkJoinPool pool, Position p, boolean computer, int depth){
+		Perft counts = pool.invoke(new Subtree(new Position(p), computer, depth));
+		add(counts);
+		return counts.leaves;
+	}
+
+	public void add(Perft counts){
+		leaves += counts.leaves;
+		jumps += counts.jumps;
+		passes += counts.passes;
+		ends += counts.ends;
+	}
+
+	/**
+	 * This class defines one task of parallelPerft(): a deep subtree is split into one task per action,
+	 * a shallow one is counted on the thread of the task
+	 */
+	private static class Subtree extends RecursiveTask<Perft> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Position p;
+		private final boolean computer;
+		private final int depth;
+
+		Subtree(Position p, boolean computer, int depth){
+			super();
+			this.p = p;
+			this.computer = computer;
+			this.depth = depth;
+		}
+
+		@Override
+		protected Perft compute(){
+			Perft counts = new Perft(p.g, depth);
+			if(depth <= SPLITDEPTH){
+				counts.perft(p, computer, depth);
+				return counts;
+			}
+			if(p.terminalTest() != Checkers.NONTERMINAL){
+				counts.ends++;
+				return counts;
+			}
+
+			int[] acts = new int[p.g.maxmoves];
+			int n = p.possibleActs(computer, acts);
+			List<Subtree> tasks = new ArrayList<Subtree>();
+			if(n == 0){
+				counts.passes++;
+				tasks.add(new Subtree(p.pass(computer), !computer, depth-1));
+			}
+			for(int a = 0; a < n; a++){
+				if(Position.isJump(acts[a])){
+					counts.jumps++;
+				}
+				tasks.add(new Subtree(p.Move(acts[a], computer), !computer, depth-1));
+			}
+			for(Subtree task : ForkJoinTask.invokeAll(tasks)){
+				counts.add(task.join());
+			}
+			return counts;
+		}
+	}
+
+	public static void main(String[] args){
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		String mode = args.length > 1 ? args[1] : "count";
+		int i = java.util.Arrays.asList(SearchPositions.NAMES).indexOf(args.length > 2 ? args[2] : "opening");
+		boolean computer = !(args.length > 3 && args[3].equals("human"));
+		if(i < 0){
+			System.out.println("Unknown position, use one of " + java.util.Arrays.toString(SearchPositions.NAMES));
+			return;
+		}
+		Position p = SearchPositions.position(i);
+
+		if(mode.equals("divide")){
+			Perft perft = new Perft(p.g, depth);
+			long start = System.nanoTime();
+			for(long[] line : perft.divide(p, computer, depth)){
+				System.out.println(p.actToString((int) line[0]) + ": " + line[1]);
+			}
+			long ms = (System.nanoTime() - start) / 1000000;
+			System.out.println("Total: " + perft.leaves + " in " + ms + " ms");
+			return;
+		}
+
+		if(mode.equals("verify")){
+			Position opening = SearchPositions.position(0);
+			boolean ok = true;
+			for(int d = 1; d < REFERENCE.length && d <= depth; d++){
+				long count = new Perft(opening.g, d).perft(opening, true, d);
+				System.out.println("perft(" + d + ") = " + count + (count == REFERENCE[d] ? "" : ", expected " + REFERENCE[d]));
+				ok &= (count == REFERENCE[d]);
+			}
+			System.out.println(ok ? "All counts match" : "MISMATCH");
+			return;
+		}
+
+		ForkJoinPool pool = mode.equals("parallel") ? ForkJoinPool.commonPool() : null;
+		System.out.printf("%-6s %14s %12s %10s %10s %10s %14s%n", "depth", "positions", "jumps", "passes", "ends", "ms", "positions/s");
+		for(int d = 1; d <= depth; d++){
+			Perft perft = new Perft(p.g, d);
+			long start = System.nanoTime();
+			if(pool != null){
+				perft.parallelPerft(pool, p, computer, d);
+			}
+			else{
+				perft.perft(p, computer, d);
+			}
+			long ns = Math.max(System.nanoTime() - start, 1);
+			System.out.printf("%-6d %14d %12d %10d %10d %10d %14d%n", d, perft.leaves, perft.jumps, perft.passes, perft.ends,
+					ns / 1000000, perft.leaves * 1000000000L / ns);
+		}
+	}
+}
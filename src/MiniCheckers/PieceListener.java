@@ -35,7 +35,7 @@ public class PieceListener implements MouseListener{
 		position = db.MovableHumanPiecePosition(p);
 		
 		// show possible moves of the selected piece in the board
-		if(position[0] < 6){
+		if(position[0] < Checkerboard.SIZE){
 			try{
 				if(db.isPlayed() == false){
 					db.displayPossibleMoveSquare(position);
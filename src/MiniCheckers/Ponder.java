@@ -0,0 +1,132 @@
+package MiniCheckers;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * This file defines the class Ponder, which lets an Engine think on the human's time.
+ *
+ * As soon as the computer has moved, start() begins a search on a background thread. If the engine
+ * expects a human reply (the reply of the computer's last search, see SearchResult.getReply(), or else
+ * the best action stored in its transposition table, see Engine.expectedAct()), the position after that
+ * reply is searched for the computer. The reply is played with Position.turn(), which marks the human's
+ * pieces as end pieces when it has no legal move left, as the GUI does, so the expected position is the
+ * one the computer will be given. Otherwise the position itself is searched for the human, which
+ * goes through all the replies. The search has no time limit; it runs until the human moves or the game
+ * tree is searched completely.
+ *
+ * When the human has moved, finish() is given the real position:
+ *   - ponder hit (the human played the expected reply): the pondering search goes on until the time
+ *     budget, counted from the start of pondering, is used up, and its result is the computer's move.
+ *   - ponder miss: the pondering search is stopped and finish() returns null. The computer searches the
+ *     real position as usual, with the positions the pondering search stored in the transposition table.
+ *
+ * The engine must not be used by another search between start() and finish().
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class Ponder {
+
+	private final Engine engine;
+	private final SearchLimits limits;
+
+	/**
+	 * State of the current pondering search:
+	 * expected : the position after the expected human reply, null if all the replies are searched
+	 * search : the search, null if none
+	 * start : the time (System.currentTimeMillis()) at which the search started
+	 */
+	private Position expected = null;
+	private SearchHandle search = null;
+	private long start = 0;
+
+	/**
+	 * @param engine: the engine of the computer
+	 * @param limits: the limits of the computer's moves; pondering uses their depth and threads, and
+	 *                on a ponder hit the time budget
+	 */
+	public Ponder(Engine engine, SearchLimits limits){
+		super();
+		this.engine = engine;
+		this.limits = limits;
+	}
+
+	/**
+	 * Function start(): start pondering on a background thread
+	 * @param p: the position after the computer's move, the human is to move
+	 * @param reply: the expected human reply, 0 if none
+	 */
+	public void start(Position p, int reply){
+		finish(null);
+		int act = p.isLegal(reply, false) ? reply : engine.expectedAct(p, false);
+		Position root = p;
+		if(act != 0){
+			root = new Position(p);
+			root.turn(act, false);
+		}
+		SearchLimits unlimited = new SearchLimits(SearchLimits.NOTIMELIMIT, limits.getDepthlimit(), limits.getThreads());
+		this.expected = (act != 0) ? root : null;
+		this.search = engine.newSearch(root, act != 0, unlimited);
+		this.start = System.currentTimeMillis();
+		Thread thread = new Thread(search, "Ponder");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Function finish(): end pondering once the human has moved
+	 * @param actual: the position after the human's move, the computer is to move; null to just stop pondering
+	 * @return the result of the pondering search on a ponder hit, otherwise null
+	 */
+	public SearchResult finish(Position actual){
+		if(search == null){
+			return null;
+		}
+		SearchHandle h = search;
+		search = null;
+		boolean hit = expected != null && expected.equals(actual);
+		try {
+			if(hit){ // let the search use the rest of the time budget
+				long remaining = limits.getTimebudget() - (System.currentTimeMillis() - start);
+				try {
+					return h.get(Math.max(remaining, 0), TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					return h.stop();
+				}
+			}
+			h.stop();
+			return null;
+		} catch (InterruptedException e) {
+			h.requestStop();
+			awaitFinished(h);
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Function awaitFinished(): wait until a stopped search has returned, even if this thread is interrupted,
+	 * so the engine is free for the next search when finish() returns
+	 */
+	private static void awaitFinished(SearchHandle h){
+		while(true){
+			try {
+				h.awaitFinished();
+				return;
+			} catch (InterruptedException e) {
+				// the interrupt is restored by the caller
+			}
+		}
+	}
+
+	/**
+	 * Function isPondering(): true between start() and finish()
+	 */
+	public boolean isPondering(){
+		return search != null;
+	}
+}
@@ -0,0 +1,720 @@
+package MiniCheckers;
+
+/**
+ * This file defines the class Position, the bitboard form of the checker board used by the search.
+ *
+ * Only the dark squares (row%2 != col%2) can ever hold a piece, so every kind of piece
+ * (HUMAN, COMPUTER, HTOEND, CTOEND) is kept as a mask over these squares, one long for any board size
+ * (see Geometry). On the 6x6 board of the GUI the square (row,col) is numbered row*3 + col/2, which keeps
+ * the scan order of the int[6][6] board:
+ *
+ *          col 0   1   2   3   4   5
+ *     row 0    .   0   .   1   .   2
+ *     row 1    3   .   4   .   5   .
+ *     row 2    .   6   .   7   .   8
+ *     row 3    9   .  10   .  11   .
+ *     row 4    .  12   .  13   .  14
+ *     row 5   15   .  16   .  17   .
+ *
+ * A computer piece moving forward goes from square s to s+2, s+3 or s+4 depending on the parity of its row,
+ * and a human piece goes the opposite way, so all moves of one side can be found with a few shifts and masks.
+ * The 8x8 and 10x10 boards are played by the same code, with the shifts and masks of their Geometry.
+ *
+ * An action is encoded in one int:
+ *     bits 0-5  : the start square
+ *     bits 6-11 : the destination square
+ *     bit  12   : JUMP, set if the action is a capture move(jump)
+ * The captured square lies between the start and the destination (Geometry.over()), so an action
+ * fits in the 16 bits the transposition table and the opening book keep.
+ *
+ * The position also keeps its Zobrist hash, which make() and makePass() update incrementally.
+ * The side to move is not part of the position, so it is mixed in by key().
+ *
+ * The human to move in a position is the computer to move in the flipped position (see flip()), so every
+ * cache of the engine keeps only positions with the computer to move: canonicalKey() of the human to move
+ * is the key of the flipped position, and its value, bound and action are stored flipped (see Search).
+ * For this the position also keeps the hash of its flipped position, updated with the same toggles.
+ *
+ * The search changes one Position in place: make() takes an action and unmake() takes it back,
+ * so no object is allocated per node. Move() and pass() return a changed copy instead.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class Position {
+
+	final static public int JUMP = 1 << 12;
+
+	/**
+	 * Flags in the result of expand():
+	 * FORCEDJUMP : the actions are jumps, every opportunity to jump must be taken
+	 * TERMINAL : the position is a terminal node, no action is generated
+	 * COUNT : the mask of the number of actions
+	 */
+	final static public int FORCEDJUMP = 1 << 8;
+	final static public int TERMINAL = 1 << 9;
+	final static public int COUNT = 0xFF;
+
+	// the kinds of pieces, index of the Zobrist keys and the value returned by make(); kind ^ 1 is the same kind of the other side
+	final static public int NOPIECE = -1;
+	final static public int HUMANKIND = 0;
+	final static public int COMPUTERKIND = 1;
+	final static public int HTOENDKIND = 2;
+	final static public int CTOENDKIND = 3;
+
+	// the board: its size, masks and Zobrist keys
+	final Geometry g;
+
+	// one bitmask per kind of piece
+	long human;
+	long computer;
+	long htoend;
+	long ctoend;
+	long hash;
+	long fliphash; // the hash of flip()
+
+	/**
+	 * An empty 6x6 board, the board of the GUI
+	 */
+	public Position(){
+		this(Geometry.of(Checkerboard.SIZE));
+	}
+
+	/**
+	 * An empty board
+	 * @param g: the geometry of the board
+	 */
+	public Position(Geometry g){
+		super();
+		this.g = g;
+	}
+
+	public Position(Position p){
+		super();
+		this.g = p.g;
+		this.human = p.human;
+		this.computer = p.computer;
+		this.htoend = p.htoend;
+		this.ctoend = p.ctoend;
+		this.hash = p.hash;
+		this.fliphash = p.fliphash;
+	}
+
+	/**
+	 * Build the bitboard from the int[n][n] form used by Checkerboard and DrawBoard
+	 * @param board: the checker board, its size gives the geometry
+	 */
+	public Position(int[][] board){
+		this(Geometry.of(board.length));
+		for(int s = 0; s < g.squares; s++){
+			long bit = 1L << s;
+			switch(board[g.row(s)][g.col(s)]){
+				case Checkerboard.HUMAN:
+					human |= bit;
+					break;
+				case Checkerboard.COMPUTER:
+					computer |= bit;
+					break;
+				case Checkerboard.HTOEND:
+					htoend |= bit;
+					break;
+				case Checkerboard.CTOEND:
+					ctoend |= bit;
+					break;
+				default:
+					break;
+			}
+		}
+		rehash();
+	}
+
+	/**
+	 * Function start(): the position at the start of the game, each side on the (n-2)/2 rows next to its edge;
+	 * on the 6x6 board it is the board of Checkerboard.init()
+	 */
+	public static Position start(Geometry g){
+		Position p = new Position(g);
+		p.computer = g.computerstart;
+		p.human = g.humanstart;
+		p.rehash();
+		return p;
+	}
+
+	public Geometry getGeometry(){
+		return g;
+	}
+
+	/**
+	 * Function rehash(): compute both hashes from scratch, after the piece masks were set directly
+	 */
+	void rehash(){
+		this.hash = computeHash();
+		this.fliphash = flip(human, computer, htoend, ctoend).computeHash();
+	}
+
+	/**
+	 * Function computeHash(): compute the Zobrist hash of the pieces from scratch
+	 */
+	public long computeHash(){
+		long h = 0;
+		for(int s = 0; s < g.squares; s++){
+			long bit = 1L << s;
+			if((human & bit) != 0){
+				h ^= g.zobrist[HUMANKIND][s];
+			}
+			else if((computer & bit) != 0){
+				h ^= g.zobrist[COMPUTERKIND][s];
+			}
+			else if((htoend & bit) != 0){
+				h ^= g.zobrist[HTOENDKIND][s];
+			}
+			else if((ctoend & bit) != 0){
+				h ^= g.zobrist[CTOENDKIND][s];
+			}
+		}
+		return h;
+	}
+
+	/**
+	 * Function key(): the hash of this position together with the side to move
+	 * @param computer: true if it is the computer's turn
+	 */
+	public long key(boolean computer){
+		return computer ? hash ^ g.computertomove : hash;
+	}
+
+	/**
+	 * Function canonicalKey(): the key under which caches store this position with the side to move:
+	 * key(true) if the computer is to move, otherwise the key of flip() with the computer to move
+	 * @param computer: true if it is the computer's turn
+	 */
+	public long canonicalKey(boolean computer){
+		return computer ? hash ^ g.computertomove : fliphash ^ g.computertomove;
+	}
+
+	/**
+	 * Two positions are equal if they have the same board and the same pieces on the same squares
+	 */
+	@Override
+	public boolean equals(Object o){
+		if(!(o instanceof Position)){
+			return false;
+		}
+		Position p = (Position) o;
+		return g == p.g && human == p.human && computer == p.computer && htoend == p.htoend && ctoend == p.ctoend;
+	}
+
+	@Override
+	public int hashCode(){
+		return Long.hashCode(hash);
+	}
+
+	/**
+	 * Function toBoard(): convert the bitboard back to the int[n][n] form
+	 * @return a new checker board
+	 */
+	public int[][] toBoard(){
+		int[][] board = new int[g.size][g.size];
+		toBoard(board);
+		return board;
+	}
+
+	/**
+	 * Function toBoard(): write the bitboard into an existing int[n][n] checker board
+	 * @param board: the checker board to overwrite
+	 */
+	public void toBoard(int[][] board){
+		for(int row = 0; row < g.size; row++){
+			for(int col = 0; col < g.size; col++){
+				board[row][col] = Checkerboard.EMPTY;
+			}
+		}
+		for(int s = 0; s < g.squares; s++){
+			long bit = 1L << s;
+			if((human & bit) != 0){
+				board[g.row(s)][g.col(s)] = Checkerboard.HUMAN;
+			}
+			else if((computer & bit) != 0){
+				board[g.row(s)][g.col(s)] = Checkerboard.COMPUTER;
+			}
+			else if((htoend & bit) != 0){
+				board[g.row(s)][g.col(s)] = Checkerboard.HTOEND;
+			}
+			else if((ctoend & bit) != 0){
+				board[g.row(s)][g.col(s)] = Checkerboard.CTOEND;
+			}
+		}
+	}
+
+	public static int act(int from, int to){
+		return from | (to << 6);
+	}
+
+	public static int jumpAct(int from, int to){
+		return from | (to << 6) | JUMP;
+	}
+
+	public static int from(int act){
+		return act & 63;
+	}
+
+	public static int to(int act){
+		return (act >>> 6) & 63;
+	}
+
+	public static boolean isJump(int act){
+		return (act & JUMP) != 0;
+	}
+
+	/**
+	 * Function captured(): the square of the piece a jump captures
+	 */
+	public int captured(int act){
+		return g.over(from(act), to(act));
+	}
+
+	/**
+	 * Function act(): the action from (row,col) to (row,col) on this board, a jump if it goes two rows
+	 */
+	public int act(int[] startpos, int[] destpos){
+		int from = g.square(startpos[0], startpos[1]);
+		int to = g.square(destpos[0], destpos[1]);
+		return (Math.abs(startpos[0] - destpos[0]) == 2) ? jumpAct(from, to) : act(from, to);
+	}
+
+	/**
+	 * Function flipAct(): the action in the flipped position (see flip())
+	 */
+	public int flipAct(int act){
+		if(act == 0){
+			return 0;
+		}
+		int last = g.squares - 1;
+		return (act & JUMP) | act(last - from(act), last - to(act));
+	}
+
+	/**
+	 * Function actToString(): the action as [row,col] -> [row,col]
+	 */
+	public String actToString(int act){
+		if(act == 0){
+			return "pass";
+		}
+		return "[" + g.row(from(act)) + "," + g.col(from(act)) + "] -> [" + g.row(to(act)) + "," + g.col(to(act)) + "]";
+	}
+
+	public long occupied(){
+		return human | computer | htoend | ctoend;
+	}
+
+	/**
+	 * Function movablePieces(): find the pieces which can still take a move (not reached the end)
+	 * @param computer: true means to find movable computer pieces; false means to find movable human pieces
+	 * @return the mask of these pieces
+	 */
+	public long movablePieces(boolean computer){
+		return computer ? this.computer : this.human;
+	}
+
+	/**
+	 * Function possibleActs(): find all the legal actions of the human or the computer.
+	 * If there is any jump, only the jumps are returned because every opportunity to jump must be taken.
+	 * The actions are returned in the same order as the board scan of the int[n][n] form:
+	 * piece by piece, left before right.
+	 * @param computer: true means to find the computer actions; otherwise, the human actions
+	 * @param acts: to store the encoded actions, at least Geometry.getMaxmoves() long
+	 * @return the number of actions stored in acts
+	 */
+	public int possibleActs(boolean computer, int[] acts){
+		long movers = movablePieces(computer);
+		long opponent = computer ? (human | htoend) : (this.computer | ctoend);
+		return generate(computer, movers, opponent, ~occupied() & g.all, acts) & COUNT;
+	}
+
+	/**
+	 * Function isLegal(): check an action, e.g. one read from the transposition table
+	 * @return true if act is one of the legal actions of the human or the computer
+	 */
+	public boolean isLegal(int act, boolean computer){
+		int[] acts = new int[g.maxmoves];
+		int n = possibleActs(computer, acts);
+		for(int i = 0; i < n; i++){
+			if(acts[i] == act){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Function expand(): everything the search needs to expand a node, from one read of the piece masks:
+	 * the terminal status, whether the jumps are forced, and the actions (the same as possibleActs()).
+	 * @param computer: true means to expand for the computer; otherwise, for the human
+	 * @param acts: to store the encoded actions, at least Geometry.getMaxmoves() long
+	 * @return TERMINAL if the position is a terminal node (terminalTest() gives its utility); otherwise
+	 *         the number of actions (mask COUNT), with FORCEDJUMP set if they are jumps
+	 */
+	public int expand(boolean computer, int[] acts){
+		long white = this.computer | ctoend;
+		long black = human | htoend;
+		if(white == 0 || black == 0 || (this.computer | human) == 0){ // see terminalTest()
+			return TERMINAL;
+		}
+		long movers = computer ? this.computer : human;
+		return generate(computer, movers, computer ? black : white, ~(white | black) & g.all, acts);
+	}
+
+	/**
+	 * Function generate(): the actions of the movers, see possibleActs()
+	 * @return the number of actions, with FORCEDJUMP set if they are jumps
+	 */
+	private int generate(boolean computer, long movers, long opponent, long empty, int[] acts){
+		Geometry g = this.g;
+		int n = 0;
+
+		// landing squares of the jumps, then the pieces which can take them
+		long ljumps = g.forwardLeft(g.forwardLeft(movers, computer) & opponent, computer) & empty;
+		long rjumps = g.forwardRight(g.forwardRight(movers, computer) & opponent, computer) & empty;
+		if((ljumps | rjumps) != 0){
+			long lsources = g.backLeft(g.backLeft(ljumps, computer), computer);
+			long rsources = g.backRight(g.backRight(rjumps, computer), computer);
+			long sources = lsources | rsources;
+			// a jump crosses two rows, so it moves by the same number of squares from every square
+			int ljump = computer ? 2 * g.half - 1 : -2 * g.half - 1;
+			int rjump = computer ? 2 * g.half + 1 : -2 * g.half + 1;
+			while(sources != 0){
+				long bit = sources & -sources;
+				int from = Long.numberOfTrailingZeros(bit);
+				if((lsources & bit) != 0){
+					acts[n++] = jumpAct(from, from + ljump);
+				}
+				if((rsources & bit) != 0){
+					acts[n++] = jumpAct(from, from + rjump);
+				}
+				sources ^= bit;
+			}
+			return n | FORCEDJUMP;
+		}
+
+		// regular moves
+		long lsources = g.backLeft(g.forwardLeft(movers, computer) & empty, computer);
+		long rsources = g.backRight(g.forwardRight(movers, computer) & empty, computer);
+		long sources = lsources | rsources;
+		while(sources != 0){
+			long bit = sources & -sources;
+			int from = Long.numberOfTrailingZeros(bit);
+			if((lsources & bit) != 0){
+				acts[n++] = act(from, Long.numberOfTrailingZeros(g.forwardLeft(bit, computer)));
+			}
+			if((rsources & bit) != 0){
+				acts[n++] = act(from, Long.numberOfTrailingZeros(g.forwardRight(bit, computer)));
+			}
+			sources ^= bit;
+		}
+		return n;
+	}
+
+	/**
+	 * Function Move(): the transition model on the bitboard
+	 * @param act: the encoded action
+	 * @param computer: true if the action is taken by the computer
+	 * @return the next position; this position is not changed
+	 */
+	public Position Move(int act, boolean computer){
+		Position m = new Position(this);
+		m.make(act, computer);
+		return m;
+	}
+
+	/**
+	 * Function pass(): the player has no legal move to take, so all its movable pieces become end pieces
+	 * @param computer: true if the computer forfeits its turn
+	 * @return the next position; this position is not changed
+	 */
+	public Position pass(boolean computer){
+		Position m = new Position(this);
+		m.makePass(computer);
+		return m;
+	}
+
+	/**
+	 * Function flip(): the same position seen from the other side: the board is turned by 180 degrees and
+	 * the computer and human pieces change places. The human to move in this position is the computer to move
+	 * in the flipped one; terminal utilities and evaluations change their sign.
+	 * @return the flipped position; this position is not changed
+	 */
+	public Position flip(){
+		Position m = flip(human, computer, htoend, ctoend);
+		m.hash = fliphash;
+		m.fliphash = hash;
+		return m;
+	}
+
+	/**
+	 * Function flip(): the flipped pieces, without the hashes
+	 */
+	private Position flip(long human, long computer, long htoend, long ctoend){
+		Position m = new Position(g);
+		m.human = g.mirror(computer);
+		m.computer = g.mirror(human);
+		m.htoend = g.mirror(ctoend);
+		m.ctoend = g.mirror(htoend);
+		return m;
+	}
+
+	/**
+	 * Function make(): take an action in place
+	 * @param act: the encoded action
+	 * @param computer: true if the action is taken by the computer
+	 * @return the kind of the captured piece, NOPIECE if the action is a regular move; unmake() needs it
+	 */
+	public int make(int act, boolean computer){
+		int from = from(act);
+		int to = to(act);
+		int captured = NOPIECE;
+
+		if(computer){
+			toggle(COMPUTERKIND, from);
+			toggle(((1L << to) & g.bottomrow) != 0 ? CTOENDKIND : COMPUTERKIND, to); // Computer piece may reach to the end
+		}
+		else{
+			toggle(HUMANKIND, from);
+			toggle(((1L << to) & g.toprow) != 0 ? HTOENDKIND : HUMANKIND, to); // Human piece may reach to the end
+		}
+
+		if(isJump(act)){ // remove the captured piece
+			int over = g.over(from, to);
+			if(computer){
+				captured = ((human & (1L << over)) != 0) ? HUMANKIND : HTOENDKIND;
+			}
+			else{
+				captured = ((this.computer & (1L << over)) != 0) ? COMPUTERKIND : CTOENDKIND;
+			}
+			toggle(captured, over);
+		}
+		return captured;
+	}
+
+	/**
+	 * Function unmake(): take back an action taken by make()
+	 * @param act, computer: the same as given to make()
+	 * @param captured: the value returned by make()
+	 */
+	public void unmake(int act, boolean computer, int captured){
+		int from = from(act);
+		int to = to(act);
+
+		if(captured != NOPIECE){
+			toggle(captured, g.over(from, to));
+		}
+		if(computer){
+			toggle(((1L << to) & g.bottomrow) != 0 ? CTOENDKIND : COMPUTERKIND, to);
+			toggle(COMPUTERKIND, from);
+		}
+		else{
+			toggle(((1L << to) & g.toprow) != 0 ? HTOENDKIND : HUMANKIND, to);
+			toggle(HUMANKIND, from);
+		}
+	}
+
+	/**
+	 * Function makePass(): the player has no legal move to take, so all its movable pieces become end pieces
+	 * @param computer: true if the computer forfeits its turn
+	 * @return the mask of the pieces which became end pieces; unmakePass() needs it
+	 */
+	public long makePass(boolean computer){
+		long movers = movablePieces(computer);
+		for(long bits = movers; bits != 0; bits &= bits - 1){
+			int s = Long.numberOfTrailingZeros(bits);
+			toggle(computer ? COMPUTERKIND : HUMANKIND, s);
+			toggle(computer ? CTOENDKIND : HTOENDKIND, s);
+		}
+		return movers;
+	}
+
+	/**
+	 * Function unmakePass(): take back makePass()
+	 * @param computer: the same as given to makePass()
+	 * @param movers: the value returned by makePass()
+	 */
+	public void unmakePass(boolean computer, long movers){
+		for(long bits = movers; bits != 0; bits &= bits - 1){
+			int s = Long.numberOfTrailingZeros(bits);
+			toggle(computer ? CTOENDKIND : HTOENDKIND, s);
+			toggle(computer ? COMPUTERKIND : HUMANKIND, s);
+		}
+	}
+
+	/**
+	 * Function turn(): one turn of the game as the GUI plays it (see GameController), in place:
+	 *   - the side to move takes its action; the computer passes if it has none (Checkers.alphaBetaSearch()),
+	 *     and so does the human if only computer pieces were activated
+	 *   - if the human then has no legal action, all its movable pieces become end pieces (DrawBoard.toMove())
+	 *   - after a computer turn, the end pieces which have a legal action again are activated
+	 *     (Checkers.checkBoardStatus()), and the computer moves again unless the human has a legal action
+	 *     or some piece was activated
+	 * Everything that plays whole games (GameRecord, Tournament, OpeningBook) takes its turns here, so it plays
+	 * the game of the GUI. The search does not activate end pieces, see makePass().
+	 * @param act: the action, 0 for a pass
+	 * @param computer: true if the computer is to move
+	 * @return true if the computer is to move next
+	 */
+	public boolean turn(int act, boolean computer){
+		if(act != 0){
+			make(act, computer);
+		}
+		else{
+			makePass(computer);
+		}
+		boolean humanmoves = hasActs(false);
+		if(!humanmoves){
+			makePass(false);
+		}
+		if(!computer){
+			return true;
+		}
+		boolean reactivated = reactivate();
+		return !humanmoves && !reactivated;
+	}
+
+	/**
+	 * Function hasActs(): check if the human or the computer has any legal action, without generating them
+	 */
+	public boolean hasActs(boolean computer){
+		long opponent = computer ? (human | htoend) : (this.computer | ctoend);
+		return canMove(movablePieces(computer), computer, opponent, ~occupied() & g.all) != 0;
+	}
+
+	/**
+	 * Function reactivate(): the end pieces which have a legal action again become movable pieces,
+	 * as the GUI does after every computer move (see Checkers.checkBoardStatus())
+	 * @return true if any piece was activated
+	 */
+	public boolean reactivate(){
+		long empty = ~occupied() & g.all;
+		long h = canMove(htoend, false, computer | ctoend, empty);
+		long c = canMove(ctoend, true, human | htoend, empty);
+		for(long bits = h; bits != 0; bits &= bits - 1){
+			int s = Long.numberOfTrailingZeros(bits);
+			toggle(HTOENDKIND, s);
+			toggle(HUMANKIND, s);
+		}
+		for(long bits = c; bits != 0; bits &= bits - 1){
+			int s = Long.numberOfTrailingZeros(bits);
+			toggle(CTOENDKIND, s);
+			toggle(COMPUTERKIND, s);
+		}
+		return (h | c) != 0;
+	}
+
+	/**
+	 * Function canMove(): the pieces of m which could take a regular move or a jump
+	 */
+	private long canMove(long m, boolean computer, long opponent, long empty){
+		long moves = g.backLeft(g.forwardLeft(m, computer) & empty, computer) | g.backRight(g.forwardRight(m, computer) & empty, computer);
+		long ljumps = g.forwardLeft(g.forwardLeft(m, computer) & opponent, computer) & empty;
+		long rjumps = g.forwardRight(g.forwardRight(m, computer) & opponent, computer) & empty;
+		return moves | g.backLeft(g.backLeft(ljumps, computer), computer) | g.backRight(g.backRight(rjumps, computer), computer);
+	}
+
+	/**
+	 * Function toggle(): put a piece of the given kind on the square, or remove it if it is there,
+	 * and update the hash
+	 */
+	private void toggle(int kind, int square){
+		long bit = 1L << square;
+		switch(kind){
+			case HUMANKIND:
+				human ^= bit;
+				break;
+			case COMPUTERKIND:
+				computer ^= bit;
+				break;
+			case HTOENDKIND:
+				htoend ^= bit;
+				break;
+			default:
+				ctoend ^= bit;
+				break;
+		}
+		int k = 2 * (kind * g.squares + square);
+		hash ^= g.keys[k];
+		fliphash ^= g.keys[k+1];
+	}
+
+	/**
+	 * Function whiteNum()/blackNum(): the number of pieces of a player,
+	 * whiteMovable()/blackMovable(): the number of its pieces which can still move.
+	 * make()/unmake() keep the piece masks up to date, so each count is a single bit count, not a scan of the board.
+	 */
+	public int whiteNum(){
+		return Long.bitCount(computer | ctoend);
+	}
+
+	public int blackNum(){
+		return Long.bitCount(human | htoend);
+	}
+
+	public int whiteMovable(){
+		return Long.bitCount(computer);
+	}
+
+	public int blackMovable(){
+		return Long.bitCount(human);
+	}
+
+	/**
+	 * Function whiteFarthestPos()/blackFarthestPos(): how far the pieces of a player have advanced,
+	 * as used by the evaluation function of the easy level (starting from n-1, 5 on the 6x6 board)
+	 */
+	public int whiteFarthestPos(){
+		long w = computer | ctoend;
+		int last = g.size - 1;
+		if(w == 0){
+			return last;
+		}
+		return Math.max(last, last - g.row(Long.numberOfTrailingZeros(w)));
+	}
+
+	public int blackFarthestPos(){
+		long b = human | htoend;
+		int last = g.size - 1;
+		if(b == 0){
+			return last;
+		}
+		return Math.max(last, g.row(63 - Long.numberOfLeadingZeros(b)));
+	}
+
+	/**
+	 * Function terminalTest(): to check if the position is a terminal node
+	 * @return : return NONTERMINAL if the position is not a terminal node;
+	 *           otherwise, return the utility of this position
+	 */
+	public int terminalTest(){
+		if((computer | human) != 0 && (computer | ctoend) != 0 && (human | htoend) != 0){ // the usual case, no need to count
+			return Checkers.NONTERMINAL;
+		}
+		int whitenum = whiteNum();
+		int blacknum = blackNum();
+
+		if(whitenum == 0){ // Human win
+			return Checkers.HUMANWIN;
+		}
+		else if(blacknum == 0){ //Computer win
+			return Checkers.COMPUTERWIN;
+		}
+		else if((computer == 0) && (human == 0)){ //both players do not have any legal move to take
+			if(whitenum > blacknum){ //Computer win
+				return Checkers.COMPUTERWIN;
+			}
+			else if(whitenum < blacknum){ //Human win
+				return Checkers.HUMANWIN;
+			}
+			else{
+				return Checkers.DRAW;
+			}
+		}
+
+		return Checkers.NONTERMINAL;
+	}
+}
@@ -0,0 +1,623 @@
+package MiniCheckers;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This file defines the class Search, one worker of the Alpha-Beta search.
+ *
+ * A worker runs the iterative deepening search from the root: every iteration searches one level deeper
+ * than the last one and tries its best action first, until the deadline passes, another worker stops the
+ * search, or the game tree is searched completely. All the mutable state of the search (cutoff level,
+ * best root action, statistics) belongs to the worker, so several workers can search the same root at
+ * the same time (Lazy SMP). They only share the transposition table and the stop flag.
+ * Worker 0 starts at cutoff level 1 and scans the root actions in the usual order; the other workers
+ * start one level deeper every second worker and rotate the root actions, so they fill the table
+ * with different parts of the tree.
+ *
+ * The worker searches its own copy of the root, changed in place by Position.make()/unmake(), and keeps
+ * the actions of each level in preallocated buffers, so the search allocates nothing per node.
+ * The buffers are sized by the geometry of the root, so the same worker searches the 6x6 board of the GUI
+ * and the bigger boards (see Geometry).
+ *
+ * Before searching the actions of a node, the worker sorts them (see orderActs()): the action stored in
+ * the transposition table first, then the killer actions of the level, then by the history heuristic.
+ *
+ * The search mode is plain Alpha-Beta (ALPHABETA) or principal variation search (PVS). In PVS mode only
+ * the first action of a node is searched with the full window; the others are searched with a null window
+ * which only tells whether they are better, and searched again with the full window if they are. Each
+ * iteration after the first also starts with an aspiration window of ASPIRATION around the value of the
+ * last iteration at the root, and searches again with the full window on the side where it failed.
+ * Both modes return the same root value.
+ *
+ * The transposition table keeps every position with the computer to move: a position of minValue() is
+ * stored as its flipped position (see Position.canonicalKey()), with the value negated, the bound types
+ * LOWER and UPPER swapped and the action flipped, so the MIN and MAX nodes of equivalent positions share
+ * one entry.
+ *
+ * At the cutoff level, a position where the side to move must jump is not evaluated yet: the quiescence
+ * search (see quiesce()) plays the forced jumps on until the position is quiet, at most QLIMIT nodes.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class Search implements Runnable {
+
+	// search modes
+	final static public int ALPHABETA = 0;
+	final static public int PVS = 1;
+
+	// half width of the aspiration window at the root
+	final static public int ASPIRATION = 2;
+
+	// the most nodes one quiescence search may add after a position at the cutoff level
+	final static public int QLIMIT = 256;
+
+	// shared by all the workers of one search
+	private final TranspositionTable tt;
+	private final AtomicBoolean stop;
+	private final long deadline;
+	final int id;
+	final int difficultylevel;
+
+	/**
+	 * State of the current iteration:
+	 * cutoff : the cutoff level
+	 * depthlimit : the deepest cutoff level the iterative deepening may try
+	 * timeout : set when the search must stop, the unfinished iteration is thrown away
+	 * horizon : set when some node was cut off, otherwise the game tree was searched completely
+	 * rootact : the best action at the root
+	 * rootreply : the best human reply to rootact, 0 if it is not known
+	 */
+	int cutoff = 1;
+	int depthlimit = Checkers.MAXDEPTH;
+	boolean timeout = false;
+	boolean horizon = false;
+	int rootact = 0;
+	int rootreply = 0;
+
+	// the search mode, ALPHABETA or PVS
+	int mode = ALPHABETA;
+
+	// quiescence : search the forced jumps after the cutoff level; qbudget : the nodes the current quiescence search may still add
+	boolean quiescence = true;
+	private int qbudget = 0;
+
+	// the position being searched, the number of its squares, and the actions of each level
+	private final Position board;
+	private final int squares;
+	private final int[][] acts;
+
+	/**
+	 * Move ordering:
+	 * heuristics : use the killer and history heuristics, otherwise only the stored action is moved to the front
+	 * killers : per level, the last two regular moves which caused a pruning
+	 * history : per (start square, destination square), the sum of depth*depth over the prunings it caused
+	 */
+	boolean heuristics = true;
+	private final int[][] killers = new int[Checkers.MAXDEPTH + 1][2];
+	private final int[] history;
+	private final int[] scores;
+
+	// the endgame bitbase, null if there is none
+	EndgameBitbase bitbase = null;
+
+	// result of the deepest completed iteration; exact is true if it needs no deeper search
+	int bestact = 0;
+	int bestreply = 0;
+	int bestvalue = Checkers.CHANGETURN;
+	int searchdepth = 0;
+	boolean exact = false;
+
+	// statistics of this worker
+	final SearchStats stats = new SearchStats();
+
+	// run after every completed iteration, null if none
+	Runnable oniteration = null;
+
+	/**
+	 * @param id: the number of this worker, 0 for the main worker
+	 * @param root: the position to search, the computer is to move
+	 * @param difficultylevel: selects the evaluation function
+	 * @param tt: the shared transposition table
+	 * @param deadline: the time (System.currentTimeMillis()) at which the search must stop
+	 * @param stop: the shared stop flag, set by the first worker which finishes
+	 */
+	public Search(int id, Position root, int difficultylevel, TranspositionTable tt, long deadline, AtomicBoolean stop){
+		super();
+		this.id = id;
+		this.board = new Position(root);
+		this.squares = root.g.squares;
+		this.acts = new int[Checkers.MAXDEPTH + 1][root.g.maxmoves];
+		this.history = new int[squares * squares];
+		this.scores = new int[root.g.maxmoves];
+		this.difficultylevel = difficultylevel;
+		this.tt = tt;
+		this.deadline = deadline;
+		this.stop = stop;
+	}
+
+	@Override
+	public void run(){
+		long start = System.nanoTime();
+		for(cutoff = 1 + (id % 2); cutoff <= depthlimit; cutoff++){
+			horizon = false;
+			for(int i = 0; i < history.length; i++){ // old history counts less
+				history[i] >>= 1;
+			}
+			int v = rootValue();
+			if(timeout){ // unfinished iteration
+				break;
+			}
+			if(rootact != bestact){ // a new best action
+				stats.timetobest = System.nanoTime() - start;
+			}
+			bestvalue = v;
+			bestact = rootact;
+			bestreply = rootreply;
+			searchdepth = cutoff;
+			if(oniteration != null){
+				oniteration.run();
+			}
+			if(v == Checkers.CHANGETURN || !horizon || v == Checkers.COMPUTERWIN || v == Checkers.HUMANWIN){ // result is exact
+				exact = true;
+				break;
+			}
+		}
+		stats.searchdepth = searchdepth;
+		stats.elapsed = System.nanoTime() - start;
+		stop.set(true);
+	}
+
+	/**
+	 * Function rootValue(): search the root with the full window, or in PVS mode with an aspiration window
+	 * around the value of the last iteration first. A value outside the window is only a bound, so the side
+	 * of the window where it failed is opened and the root is searched again.
+	 */
+	private int rootValue(){
+		if(mode != PVS || searchdepth == 0){
+			return maxValue(board, Checkers.HUMANWIN, Checkers.COMPUTERWIN, 0);
+		}
+		int alpha = Math.max(bestvalue - ASPIRATION, Checkers.HUMANWIN);
+		int beta = Math.min(bestvalue + ASPIRATION, Checkers.COMPUTERWIN);
+		while(true){
+			int v = maxValue(board, alpha, beta, 0);
+			if(timeout || v == Checkers.CHANGETURN){
+				return v;
+			}
+			if(v <= alpha && alpha > Checkers.HUMANWIN){
+				alpha = Checkers.HUMANWIN;
+			}
+			else if(v >= beta && beta < Checkers.COMPUTERWIN){
+				beta = Checkers.COMPUTERWIN;
+			}
+			else{
+				return v;
+			}
+			stats.researches++;
+		}
+	}
+
+	public int maxValue(Position b, int alpha, int beta, int level) {//computer
+		stats.nodes++;
+		if(timeUp()){
+			return 0;
+		}
+
+		int utility = b.terminalTest();
+		if(utility != Checkers.NONTERMINAL){
+			stats.maxdepth = Math.max(stats.maxdepth, level);
+			return utility;
+		}
+		if(bitbase != null && level > 0 && bitbase.covers(b)){ // exact value from the endgame bitbase
+			stats.bbhits++;
+			return bitbase.probe(b, true);
+		}
+		if(level == cutoff){ // Cut off
+			horizon = true;
+			if(quiescence){
+				qbudget = QLIMIT;
+				return quiesce(b, alpha, beta, true, level);
+			}
+			return evaluation(b, true);
+		}
+
+		// look up the position: the stored value may end the search here, the stored action is tried first
+		long key = b.canonicalKey(true);
+		int hashact = 0;
+		stats.ttprobes++;
+		long entry = tt.probe(key);
+		if(entry != 0){
+			stats.tthits++;
+			hashact = TranspositionTable.act(entry);
+			if(level > 0 && TranspositionTable.depth(entry) >= cutoff - level){
+				int value = TranspositionTable.value(entry);
+				int bound = TranspositionTable.bound(entry);
+				if(bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && value >= beta) || (bound == TranspositionTable.UPPER && value <= alpha)){
+					if(value != Checkers.COMPUTERWIN && value != Checkers.HUMANWIN){ // the stored search may have been cut off
+						horizon = true;
+					}
+					stats.ttcutoffs++;
+					return value;
+				}
+			}
+		}
+
+		int alphaorig = alpha;
+		int v = Checkers.NINF;
+		int tempv = v;
+		int bestact = 0;
+
+		// all the computer's actions in the current state, only jumps if there is any jump
+		int[] acts = this.acts[level];
+		int expansion = b.expand(true, acts);
+		int n = expansion & Position.COUNT;
+		boolean forcedjump = (expansion & Position.FORCEDJUMP) != 0;
+
+		// current board for this player has no any legal move, need to change turn.
+		if(n == 0){
+			if(level == 0){
+				return Checkers.CHANGETURN;
+			}
+			long movers = b.makePass(true);
+			v = minValue(b, alpha, beta, level+1);
+			b.unmakePass(true, movers);
+			if(timeout){
+				return 0;
+			}
+			tt.store(key, cutoff - level, bound(v, alphaorig, beta), v, 0);
+			return v;
+		}
+		if(level == 0){
+			rotateActs(acts, n, id);
+			orderActs(acts, n, rootact != 0 ? rootact : hashact, level, forcedjump);
+		}
+		else{
+			orderActs(acts, n, hashact, level, forcedjump);
+		}
+
+		for(int a = 0; a < n; a++){
+			int captured = b.make(acts[a], true);
+			if(mode == PVS && a > 0 && beta - alpha > 1){ // null window: is the action better than alpha?
+				tempv = minValue(b, alpha, alpha + 1, level+1);
+				if(tempv > alpha && tempv < beta && !timeout){ // it is, find its value
+					stats.researches++;
+					tempv = minValue(b, alpha, beta, level+1);
+				}
+			}
+			else{
+				tempv = minValue(b, alpha, beta, level+1);
+			}
+			int reply = (level == 0) ? replyAct(b) : 0;
+			b.unmake(acts[a], true, captured);
+			if(timeout){
+				return 0;
+			}
+			if(tempv > v){
+				bestact = acts[a];
+				if(level == 0){
+					rootact = bestact;
+					rootreply = reply;
+				}
+			}
+			v = Math.max(v, tempv);
+			if(v >= beta){
+				stats.maxprun++;
+				if(!forcedjump){
+					goodAct(acts[a], level);
+				}
+				tt.store(key, cutoff - level, TranspositionTable.LOWER, v, bestact);
+				return v;
+			}
+			alpha = Math.max(alpha, v);
+		}
+
+		tt.store(key, cutoff - level, bound(v, alphaorig, beta), v, bestact);
+		return v;
+	}
+
+
+	public int minValue(Position b, int alpha, int beta, int level) {//Human
+		stats.nodes++;
+		if(timeUp()){
+			return 0;
+		}
+
+		int utility = b.terminalTest();
+		if(utility != Checkers.NONTERMINAL){
+			stats.maxdepth = Math.max(stats.maxdepth, level);
+			return utility;
+		}
+		if(bitbase != null && level > 0 && bitbase.covers(b)){ // exact value from the endgame bitbase
+			stats.bbhits++;
+			return bitbase.probe(b, false);
+		}
+		if(level == cutoff){ // Cut off
+			horizon = true;
+			if(quiescence){
+				qbudget = QLIMIT;
+				return quiesce(b, alpha, beta, false, level);
+			}
+			return evaluation(b, false);
+		}
+
+		// look up the position, stored as the flipped position with the computer to move (see Position.canonicalKey())
+		long key = b.canonicalKey(false);
+		int hashact = 0;
+		stats.ttprobes++;
+		long entry = tt.probe(key);
+		if(entry != 0){
+			stats.tthits++;
+			hashact = b.flipAct(TranspositionTable.act(entry));
+			if(TranspositionTable.depth(entry) >= cutoff - level){
+				int value = -TranspositionTable.value(entry);
+				int bound = TranspositionTable.flipBound(TranspositionTable.bound(entry));
+				if(bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER && value >= beta) || (bound == TranspositionTable.UPPER && value <= alpha)){
+					if(value != Checkers.COMPUTERWIN && value != Checkers.HUMANWIN){ // the stored search may have been cut off
+						horizon = true;
+					}
+					stats.ttcutoffs++;
+					return value;
+				}
+			}
+		}
+
+		int betaorig = beta;
+		int v = Checkers.INF;
+		int tempv = v;
+		int bestact = 0;
+
+		// all the human's actions in the current state, only jumps if there is any jump
+		int[] acts = this.acts[level];
+		int expansion = b.expand(false, acts);
+		int n = expansion & Position.COUNT;
+		boolean forcedjump = (expansion & Position.FORCEDJUMP) != 0;
+
+		// no any legal move, change the turn
+		if(n == 0){
+			long movers = b.makePass(false);
+			v = maxValue(b, alpha, beta, level+1);
+			b.unmakePass(false, movers);
+			if(timeout){
+				return 0;
+			}
+			tt.store(key, cutoff - level, TranspositionTable.flipBound(bound(v, alpha, betaorig)), -v, 0);
+			return v;
+		}
+		orderActs(acts, n, hashact, level, forcedjump);
+
+		for(int a = 0; a < n; a++){
+			int captured = b.make(acts[a], false);
+			if(mode == PVS && a > 0 && beta - alpha > 1){ // null window: is the action better than beta?
+				tempv = maxValue(b, beta - 1, beta, level+1);
+				if(tempv < beta && tempv > alpha && !timeout){ // it is, find its value
+					stats.researches++;
+					tempv = maxValue(b, alpha, beta, level+1);
+				}
+			}
+			else{
+				tempv = maxValue(b, alpha, beta, level+1);
+			}
+			b.unmake(acts[a], false, captured);
+			if(timeout){
+				return 0;
+			}
+			if(tempv < v){
+				bestact = acts[a];
+			}
+
+			v = Math.min(v, tempv);
+			if(v <= alpha){
+				stats.minprun++;
+				if(!forcedjump){
+					goodAct(acts[a], level);
+				}
+				tt.store(key, cutoff - level, TranspositionTable.LOWER, -v, b.flipAct(bestact));
+				return v;
+			}
+			beta = Math.min(beta, v);
+		}
+		tt.store(key, cutoff - level, TranspositionTable.flipBound(bound(v, alpha, betaorig)), -v, b.flipAct(bestact));
+		return v;
+	}
+
+	/**
+	 * Function quiesce(): the value of a position at or beyond the cutoff level
+	 * A quiet position, where the side to move has no jump, is evaluated. Otherwise the jumps are forced,
+	 * so the side to move may not stand pat: all its jumps are searched (Alpha-Beta, without the
+	 * transposition table), until the position is quiet, the game ends, or qbudget or MAXDEPTH is used up.
+	 * @param computer: true if the computer is to move
+	 */
+	private int quiesce(Position b, int alpha, int beta, boolean computer, int level){
+		int utility = b.terminalTest();
+		if(utility != Checkers.NONTERMINAL){
+			stats.maxdepth = Math.max(stats.maxdepth, level);
+			return utility;
+		}
+		int[] acts = this.acts[level];
+		int expansion = b.expand(computer, acts);
+		if((expansion & Position.FORCEDJUMP) == 0 || level == Checkers.MAXDEPTH || qbudget <= 0){ // quiet, or no more nodes to search
+			return evaluation(b, computer);
+		}
+
+		int n = expansion & Position.COUNT;
+		int v = computer ? Checkers.NINF : Checkers.INF;
+		for(int a = 0; a < n; a++){
+			qbudget--;
+			stats.qnodes++;
+			int captured = b.make(acts[a], computer);
+			int tempv = quiesce(b, alpha, beta, !computer, level+1);
+			b.unmake(acts[a], computer, captured);
+			if(computer){
+				v = Math.max(v, tempv);
+				if(v >= beta){
+					return v;
+				}
+				alpha = Math.max(alpha, v);
+			}
+			else{
+				v = Math.min(v, tempv);
+				if(v <= alpha){
+					return v;
+				}
+				beta = Math.min(beta, v);
+			}
+		}
+		return v;
+	}
+
+	/**
+	 * Function replyAct(): the best human action in a position just searched, as stored (flipped) in the transposition table
+	 * @return the action, 0 if the position is not in the table
+	 */
+	private int replyAct(Position b){
+		long entry = tt.probe(b.canonicalKey(false));
+		return (entry == 0) ? 0 : b.flipAct(TranspositionTable.act(entry));
+	}
+
+	/**
+	 * Function timeUp(): check the stop flag and the clock every 1024 nodes.
+	 * The first iteration of the main worker always runs to the end so there is always a move to take.
+	 */
+	private boolean timeUp(){
+		if(!timeout && (id > 0 || cutoff > 1) && (stats.nodes & 1023) == 0 && (stop.get() || System.currentTimeMillis() > deadline)){
+			timeout = true;
+		}
+		return timeout;
+	}
+
+	/**
+	 * Function evaluation(): To evaluate the utility of the current state when cutoff happened
+	 * @param b: the current state/board
+	 * @param maxvalue: indicates whether cutoff happened in MAX level or Min level.
+	 *                   if maxvalue = true, it's MAX level; otherwise, MIN level.
+	 * @return return the evaluated utility
+	 */
+	public int evaluation(Position b, boolean maxvalue) {
+		// each count is a bit count of the piece masks kept up to date by make()/unmake(), only the terms of the level are computed
+		if(this.difficultylevel == 1){ //evaluation function for easy level
+			return b.blackFarthestPos() - b.whiteFarthestPos();
+		}
+		else if(this.difficultylevel == 2){ //evaluation function for medium level
+			return b.whiteNum() - b.blackNum();
+		}
+		else{ // evaluation function for hard level
+			return (b.whiteNum() + b.whiteMovable() - b.blackNum() - b.blackMovable());
+		}
+	}
+
+	/**
+	 * Function bound(): the bound type of a value returned by a search with window (alpha, beta)
+	 */
+	public static int bound(int v, int alpha, int beta){
+		if(v <= alpha){
+			return TranspositionTable.UPPER;
+		}
+		else if(v >= beta){
+			return TranspositionTable.LOWER;
+		}
+		return TranspositionTable.EXACT;
+	}
+
+	/**
+	 * Function orderActs(): sort the actions so the most promising ones are searched first
+	 *   1. the action stored in the transposition table (at the root: the best action of the last iteration)
+	 *   2. the killer actions of this level, which caused a pruning in a sibling node
+	 *   3. the other actions by their history score
+	 * possibleActs() only returns jumps when there is any jump, so captures always come first.
+	 * Actions with the same score keep their order.
+	 * Jumps are never killer actions and have no history, so forced jumps only get the stored action to the front.
+	 * @param acts, n : the actions and the number of actions
+	 * @param hashact : the stored action, 0 if none
+	 * @param level : the level of the node
+	 * @param forcedjump : true if the actions are jumps
+	 */
+	void orderActs(int[] acts, int n, int hashact, int level, boolean forcedjump){
+		if(!heuristics || forcedjump){
+			moveToFront(acts, n, hashact);
+			return;
+		}
+		for(int i = 0; i < n; i++){
+			int act = acts[i];
+			if(act == hashact){
+				scores[i] = Integer.MAX_VALUE;
+			}
+			else if(act == killers[level][0]){
+				scores[i] = Integer.MAX_VALUE - 1;
+			}
+			else if(act == killers[level][1]){
+				scores[i] = Integer.MAX_VALUE - 2;
+			}
+			else{
+				scores[i] = history[Position.from(act) * squares + Position.to(act)];
+			}
+		}
+		for(int i = 1; i < n; i++){ // insertion sort, descending scores
+			int act = acts[i];
+			int score = scores[i];
+			int j = i - 1;
+			while(j >= 0 && scores[j] < score){
+				acts[j+1] = acts[j];
+				scores[j+1] = scores[j];
+				j--;
+			}
+			acts[j+1] = act;
+			scores[j+1] = score;
+		}
+	}
+
+	/**
+	 * Function goodAct(): remember an action which caused a pruning as killer action of its level
+	 * and add to its history score. Jumps are forced, so only regular moves are given.
+	 */
+	private void goodAct(int act, int level){
+		if(!heuristics){
+			return;
+		}
+		if(killers[level][0] != act){
+			killers[level][1] = killers[level][0];
+			killers[level][0] = act;
+		}
+		int depth = cutoff - level;
+		int i = Position.from(act) * squares + Position.to(act);
+		history[i] = Math.min(history[i] + depth * depth, Integer.MAX_VALUE / 4);
+	}
+
+	/**
+	 * Function moveToFront(): move the stored action to the front, the other actions keep their order
+	 * @param acts, n : the actions and the number of actions
+	 * @param hashact : the stored action, 0 if none
+	 */
+	public static void moveToFront(int[] acts, int n, int hashact){
+		if(hashact == 0){
+			return;
+		}
+		for(int i = 0; i < n; i++){
+			if(acts[i] == hashact){
+				System.arraycopy(acts, 0, acts, 1, i);
+				acts[0] = hashact;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Function rotateActs(): rotate the actions by k places in place, so different workers start with different actions
+	 */
+	public static void rotateActs(int[] acts, int n, int k){
+		k = k % n;
+		if(k == 0){
+			return;
+		}
+		reverse(acts, 0, k);
+		reverse(acts, k, n);
+		reverse(acts, 0, n);
+	}
+
+	private static void reverse(int[] acts, int from, int to){
+		for(int i = from, j = to - 1; i < j; i++, j--){
+			int temp = acts[i];
+			acts[i] = acts[j];
+			acts[j] = temp;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package MiniCheckers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * This file defines the class SearchEvent, the Flight Recorder event of one search of the computer move.
+ * The event lasts as long as the search and carries its SearchStats; it is only recorded while a
+ * recording with the event enabled is running (e.g. java -XX:StartFlightRecording ...).
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+@Name("MiniCheckers.Search")
+@Label("Search")
+@Category("MiniCheckers")
+@Description("One search of the computer move")
+class SearchEvent extends Event {
+
+	@Label("Difficulty Level")
+	int difficultylevel;
+
+	@Label("Threads")
+	int threads;
+
+	@Label("Book Move")
+	boolean bookmove;
+
+	@Label("Nodes")
+	long nodes;
+
+	@Label("Nodes per Second")
+	long nodespersecond;
+
+	@Label("Maximum Depth")
+	int maxdepth;
+
+	@Label("Search Depth")
+	@Description("Cutoff level of the deepest completed iteration")
+	int searchdepth;
+
+	@Label("MAX Cutoffs")
+	long maxprun;
+
+	@Label("MIN Cutoffs")
+	long minprun;
+
+	@Label("Transposition Table Cutoffs")
+	long ttcutoffs;
+
+	@Label("Transposition Table Hits")
+	long tthits;
+
+	@Label("Transposition Table Probes")
+	long ttprobes;
+
+	@Label("Bitbase Hits")
+	long bbhits;
+
+	@Label("Quiescence Nodes")
+	long qnodes;
+
+	@Label("Time to Best Move")
+	@Timespan(Timespan.NANOSECONDS)
+	long timetobest;
+
+	/**
+	 * Function record(): end the event and record it with the statistics of the finished search
+	 */
+	void record(SearchStats s, int difficultylevel, int threads){
+		end();
+		if(!shouldCommit()){
+			return;
+		}
+		this.difficultylevel = difficultylevel;
+		this.threads = threads;
+		this.bookmove = s.bookmove;
+		this.nodes = s.nodes;
+		this.nodespersecond = s.nodesPerSecond();
+		this.maxdepth = s.maxdepth;
+		this.searchdepth = s.searchdepth;
+		this.maxprun = s.maxprun;
+		this.minprun = s.minprun;
+		this.ttcutoffs = s.ttcutoffs;
+		this.tthits = s.tthits;
+		this.ttprobes = s.ttprobes;
+		this.bbhits = s.bbhits;
+		this.qnodes = s.qnodes;
+		this.timetobest = s.timetobest;
+		commit();
+	}
+}
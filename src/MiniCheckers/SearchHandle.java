@@ -0,0 +1,209 @@
+package MiniCheckers;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This file defines the class SearchHandle, one search of an Engine which runs on another thread.
+ *
+ * A handle is made by Engine.newSearch() and started by run(), usually on an executor (see
+ * Engine.searchAsync()). Meanwhile the other threads can:
+ *   - cancel(): stop the search and throw its result away; get() then throws CancellationException at once,
+ *     even though the search may still be running
+ *   - stop() / requestStop(): stop the search, which returns the best move of its deepest completed
+ *     iteration (the first iteration is always completed, so there is always a move)
+ *   - subscribe(): receive a SearchUpdate after every completed iteration
+ * Updates are handed to the executor given with the listener, e.g. one that runs them on the event
+ * dispatch thread with SwingUtilities.invokeLater(), so the search never waits for a listener.
+ * A listener which subscribes late only receives the updates of the iterations completed after it.
+ *
+ * The engine must not start another search until this one has finished, since they would share its
+ * transposition table. After cancel() or requestStop() the search still runs for a moment: awaitFinished()
+ * waits until it has returned (or was cancelled before it started). get() and stop() wait for it as well,
+ * except after cancel().
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class SearchHandle implements RunnableFuture<SearchResult> {
+
+	/**
+	 * This class defines a listener together with the executor which delivers its updates
+	 */
+	private static class Subscription {
+
+		final SearchListener listener;
+		final Executor executor;
+
+		Subscription(SearchListener listener, Executor executor){
+			super();
+			this.listener = listener;
+			this.executor = executor;
+		}
+	}
+
+	// delivers the updates on the search thread itself
+	final static private Executor DIRECT = new Executor(){
+		@Override
+		public void execute(Runnable r){
+			r.run();
+		}
+	};
+
+	private final AtomicBoolean stop = new AtomicBoolean(false);
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+	private final FutureTask<SearchResult> task;
+
+	// set by run() when it starts the search, or by cancel() when the search has not started, so it never starts
+	private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+	// counted down when the search has returned, or will never run
+	private final CountDownLatch finished = new CountDownLatch(1);
+
+	/**
+	 * @param engine, p, computer, limits: the search to run, see Engine.search()
+	 */
+	SearchHandle(final Engine engine, final Position p, final boolean computer, final SearchLimits limits){
+		super();
+		final SearchListener publisher = new SearchListener(){
+			@Override
+			public void update(SearchUpdate u){
+				publish(u);
+			}
+		};
+		this.task = new FutureTask<SearchResult>(new Callable<SearchResult>(){
+			@Override
+			public SearchResult call(){
+				return engine.search(p, computer, limits, stop, publisher);
+			}
+		});
+	}
+
+	@Override
+	public void run(){
+		if(!claimed.compareAndSet(false, true)){ // cancelled before it started
+			return;
+		}
+		try {
+			task.run();
+		} finally {
+			finished.countDown();
+		}
+	}
+
+	/**
+	 * Function subscribe(): receive the updates of the search, delivered by executor
+	 */
+	public void subscribe(SearchListener listener, Executor executor){
+		subscriptions.add(new Subscription(listener, executor));
+	}
+
+	/**
+	 * Function subscribe(): receive the updates of the search on the search thread; the listener must be quick
+	 */
+	public void subscribe(SearchListener listener){
+		subscribe(listener, DIRECT);
+	}
+
+	public void unsubscribe(SearchListener listener){
+		for(Subscription s : subscriptions){
+			if(s.listener == listener){
+				subscriptions.remove(s);
+			}
+		}
+	}
+
+	private void publish(final SearchUpdate u){
+		for(final Subscription s : subscriptions){
+			s.executor.execute(new Runnable(){
+				@Override
+				public void run(){
+					s.listener.update(u);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Function requestStop(): ask the search to stop, without waiting; get() returns the best move found so far
+	 */
+	public void requestStop(){
+		stop.set(true);
+	}
+
+	/**
+	 * Function stop(): stop the search now
+	 * @return the best move found so far
+	 */
+	public SearchResult stop() throws InterruptedException, ExecutionException{
+		requestStop();
+		return get();
+	}
+
+	/**
+	 * Function cancel(): stop the search and throw its result away, without waiting; awaitFinished() waits
+	 * until the search has returned
+	 * @param mayInterruptIfRunning: not used, the search stops by itself
+	 */
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning){
+		stop.set(true);
+		boolean cancelled = task.cancel(false);
+		if(claimed.compareAndSet(false, true)){ // not started, run() will not search
+			finished.countDown();
+		}
+		return cancelled;
+	}
+
+	/**
+	 * Function awaitFinished(): wait until the search has returned, whether it was stopped, cancelled or not;
+	 * the engine may start another search after this
+	 */
+	public void awaitFinished() throws InterruptedException{
+		finished.await();
+	}
+
+	/**
+	 * Function awaitFinished(): wait at most timeout until the search has returned
+	 * @return true if it has returned, false if the time ran out
+	 */
+	public boolean awaitFinished(long timeout, TimeUnit unit) throws InterruptedException{
+		return finished.await(timeout, unit);
+	}
+
+	/**
+	 * Function isFinished(): true when the search has returned, or will never run
+	 */
+	public boolean isFinished(){
+		return finished.getCount() == 0;
+	}
+
+	@Override
+	public boolean isCancelled(){
+		return task.isCancelled();
+	}
+
+	@Override
+	public boolean isDone(){
+		return task.isDone();
+	}
+
+	@Override
+	public SearchResult get() throws InterruptedException, ExecutionException{
+		return task.get();
+	}
+
+	@Override
+	public SearchResult get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException{
+		return task.get(timeout, unit);
+	}
+}
@@ -0,0 +1,67 @@
+package MiniCheckers;
+
+/**
+ * This file defines the class SearchLimits, how long an Engine may search one move.
+ *
+ * timebudget : the time (in milliseconds) the search may take, NOTIMELIMIT for no limit
+ * depthlimit : the deepest cutoff level the iterative deepening may reach
+ * threads : the number of workers searching in parallel, 1 means the search runs on the calling thread only
+ *
+ * The search stops at whichever limit it reaches first, or earlier when the game tree is searched completely.
+ * A SearchLimits never changes; the with...() functions return changed copies.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class SearchLimits {
+
+	final static public long NOTIMELIMIT = Long.MAX_VALUE / 2;
+
+	private final long timebudget;
+	private final int depthlimit;
+	private final int threads;
+
+	public SearchLimits(long timebudget, int depthlimit, int threads){
+		super();
+		if(timebudget < 0 || depthlimit < 1 || depthlimit > Checkers.MAXDEPTH || threads < 1){
+			throw new IllegalArgumentException("Invalid search limits: " + timebudget + " ms, depth " + depthlimit + ", " + threads + " threads");
+		}
+		this.timebudget = Math.min(timebudget, NOTIMELIMIT);
+		this.depthlimit = depthlimit;
+		this.threads = threads;
+	}
+
+	/**
+	 * Function time(): search for ms milliseconds on one thread
+	 */
+	public static SearchLimits time(long ms){
+		return new SearchLimits(ms, Checkers.MAXDEPTH, 1);
+	}
+
+	/**
+	 * Function depth(): search up to the cutoff level depth on one thread, without time limit
+	 */
+	public static SearchLimits depth(int depth){
+		return new SearchLimits(NOTIMELIMIT, depth, 1);
+	}
+
+	public SearchLimits withThreads(int threads){
+		return new SearchLimits(timebudget, depthlimit, threads);
+	}
+
+	public SearchLimits withDepthlimit(int depthlimit){
+		return new SearchLimits(timebudget, depthlimit, threads);
+	}
+
+	public long getTimebudget(){
+		return timebudget;
+	}
+
+	public int getDepthlimit(){
+		return depthlimit;
+	}
+
+	public int getThreads(){
+		return threads;
+	}
+}
@@ -0,0 +1,19 @@
+package MiniCheckers;
+
+/**
+ * This file defines the interface SearchListener, which receives the progress of a search.
+ *
+ * A listener subscribed to a SearchHandle gets one SearchUpdate after every iteration of the
+ * iterative deepening the search completes (see SearchHandle.subscribe()).
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public interface SearchListener {
+
+	/**
+	 * Function update(): an iteration of the search is completed
+	 * @param u: its cutoff level, value, best move and search speed
+	 */
+	void update(SearchUpdate u);
+}
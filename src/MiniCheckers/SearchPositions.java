@@ -0,0 +1,74 @@
+package MiniCheckers;
+
+/**
+ * This file defines the class SearchPositions, a fixed set of positions with the computer to move.
+ * They are used to compare versions of the search on the same game trees:
+ * the opening built by Checkerboard.init(), three midgame positions and three endgame positions.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class SearchPositions {
+
+	final static public String[] NAMES = {"opening", "midgame1", "midgame2", "midgame3", "endgame1", "endgame2", "endgame3"};
+
+	final static private int[][][] BOARDS = {
+		null, // opening, see Checkerboard.init()
+		{{0, 0, 0,-1, 0,-1},
+		 {0, 0, 0, 0,-1, 0},
+		 {0,-1, 0,-1, 0, 0},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 1, 0, 1, 0, 1},
+		 {1, 0, 1, 0, 0, 0}},
+		{{0,-1, 0, 0, 0,-1},
+		 {-1,0,-1, 0,-1, 0},
+		 {0, 0, 0, 0, 0, 0},
+		 {-1,0, 1, 0, 1, 0},
+		 {0, 1, 0, 1, 0, 0},
+		 {0, 0, 1, 0, 1, 0}},
+		{{0,-1, 0,-1, 0,-1},
+		 {-1,0, 0, 0, 0, 0},
+		 {0, 0, 0, 0, 0,-1},
+		 {-1,0, 1, 0, 1, 0},
+		 {0, 0, 0, 1, 0, 1},
+		 {1, 0, 1, 0, 0, 0}},
+		{{0, 0, 0, 0, 0, 0},
+		 {-1,0, 0, 0, 0, 0},
+		 {0, 0, 0,-1, 0,-1},
+		 {-1,0, 0, 0, 1, 0},
+		 {0, 1, 0, 0, 0, 1},
+		 {0, 0, 1, 0, 0, 0}},
+		{{0, 0, 0, 0, 0,-1},
+		 {1, 0,-1, 0,-1, 0},
+		 {0, 0, 0, 1, 0,-1},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 1, 0, 1, 0, 1},
+		 {0, 0,-3, 0, 0, 0}},
+		{{0,-1, 0, 0, 0, 0},
+		 {-1,0, 0, 0, 0, 0},
+		 {0, 0, 0,-1, 0, 0},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 0, 0, 1, 0,-1},
+		 {1, 0,-3, 0, 0, 0}},
+	};
+
+	/**
+	 * Function board(): a copy of the i-th position in the int[6][6] form
+	 */
+	public static int[][] board(int i){
+		if(BOARDS[i] == null){
+			Checkerboard c = new Checkerboard();
+			c.init();
+			return c.getBoard();
+		}
+		int[][] b = new int[6][6];
+		for(int row = 0; row < 6; row++){
+			System.arraycopy(BOARDS[i][row], 0, b[row], 0, 6);
+		}
+		return b;
+	}
+
+	public static Position position(int i){
+		return new Position(board(i));
+	}
+}
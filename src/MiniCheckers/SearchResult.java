@@ -0,0 +1,85 @@
+package MiniCheckers;
+
+/**
+ * This file defines the class SearchResult, the move an Engine found and the statistics of its search.
+ *
+ * act is the action in the encoding of class Position, on the board of the searched position (its Geometry),
+ * 0 if the side to move has no legal move and must pass. value is the value of the position from the computer's point of view (COMPUTERWIN, HUMANWIN, DRAW
+ * or an evaluation), whichever side was to move; it is CHANGETURN for a pass and DRAW for a book move.
+ * reply is the best action of the opponent after act, as far as the search saw, 0 if it is not known;
+ * it is the move to ponder on (see class Ponder).
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class SearchResult {
+
+	private final Geometry g;
+	private final int act;
+	private final int value;
+	private final int reply;
+	private final SearchStats stats;
+
+	public SearchResult(Geometry g, int act, int value, SearchStats stats){
+		this(g, act, value, 0, stats);
+	}
+
+	public SearchResult(Geometry g, int act, int value, int reply, SearchStats stats){
+		super();
+		this.g = g;
+		this.act = act;
+		this.value = value;
+		this.reply = reply;
+		this.stats = stats;
+	}
+
+	public int getAct(){
+		return act;
+	}
+
+	public boolean isPass(){
+		return act == 0;
+	}
+
+	public int getValue(){
+		return value;
+	}
+
+	public int getReply(){
+		return reply;
+	}
+
+	public SearchStats getStats(){
+		return stats;
+	}
+
+	/**
+	 * The start square and the destination square of the move, as (row, col) on the board
+	 */
+	public int[] getStartpos(){
+		return new int[]{g.row(Position.from(act)), g.col(Position.from(act))};
+	}
+
+	public int[] getDestpos(){
+		return new int[]{g.row(Position.to(act)), g.col(Position.to(act))};
+	}
+
+	/**
+	 * Function apply(): the position after the move
+	 * @param p: the searched position; it is not changed
+	 * @param computer: true if the computer was to move
+	 */
+	public Position apply(Position p, boolean computer){
+		return isPass() ? p.pass(computer) : p.Move(act, computer);
+	}
+
+	@Override
+	public String toString(){
+		if(isPass()){
+			return "pass";
+		}
+		int[] start = getStartpos();
+		int[] dest = getDestpos();
+		return "[" + start[0] + "," + start[1] + "] -> [" + dest[0] + "," + dest[1] + "]";
+	}
+}
@@ -0,0 +1,156 @@
+package MiniCheckers;
+
+/**
+ * This file defines the class SearchStats, the statistics of one search.
+ *
+ * Every search worker counts into its own SearchStats; when the search ends, the counts of all its workers
+ * are summed into one SearchStats for the whole search (see Engine.parallelSearch()). So searches running
+ * at the same time never share their counts. The finished statistics are added to the totals of the engine
+ * (see EngineMetrics) and recorded as a SearchEvent; these are the only places they are reported to.
+ * toString() describes them in text, e.g. for a log message.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class SearchStats {
+
+	/**
+	 * Counts of the search:
+	 * nodes : the number of nodes generated
+	 * maxdepth : the deepest level at which a terminal node was reached
+	 * maxprun / minprun : the number of times pruning occurred in the MAX_VALUE / MIN_VALUE function
+	 * ttcutoffs : the number of nodes whose value was taken from the transposition table
+	 * ttprobes / tthits : the number of transposition table lookups, and of lookups which found the position
+	 * bbhits : the number of positions found in the endgame bitbase
+	 * qnodes : the number of nodes searched by the quiescence search beyond the cutoff level, not counted in nodes
+	 * researches : the number of searches repeated with a wider window, after a null window or an aspiration window failed
+	 */
+	long nodes = 0;
+	int maxdepth = 0;
+	long maxprun = 0;
+	long minprun = 0;
+	long ttcutoffs = 0;
+	long ttprobes = 0;
+	long tthits = 0;
+	long bbhits = 0;
+	long researches = 0;
+	long qnodes = 0;
+
+	/**
+	 * Result of the search:
+	 * searchdepth : the cutoff level of the deepest completed iteration
+	 * bookmove : true if the move was taken from the opening book without searching
+	 * elapsed : the time the search took, in nanoseconds
+	 * timetobest : the time from the start of the search until the move it returned was first found, in nanoseconds
+	 */
+	int searchdepth = 0;
+	boolean bookmove = false;
+	long elapsed = 0;
+	long timetobest = 0;
+
+	/**
+	 * Function add(): add the counts of a worker to the counts of the whole search
+	 * (the result fields are not changed, they are those of the taken worker)
+	 */
+	public void add(SearchStats s){
+		nodes += s.nodes;
+		maxdepth = Math.max(maxdepth, s.maxdepth);
+		maxprun += s.maxprun;
+		minprun += s.minprun;
+		ttcutoffs += s.ttcutoffs;
+		ttprobes += s.ttprobes;
+		tthits += s.tthits;
+		bbhits += s.bbhits;
+		researches += s.researches;
+		qnodes += s.qnodes;
+	}
+
+	public long getNodes(){
+		return nodes;
+	}
+
+	public int getMaxdepth(){
+		return maxdepth;
+	}
+
+	public long getMaxprun(){
+		return maxprun;
+	}
+
+	public long getMinprun(){
+		return minprun;
+	}
+
+	public long getTtcutoffs(){
+		return ttcutoffs;
+	}
+
+	public long getTtprobes(){
+		return ttprobes;
+	}
+
+	public long getTthits(){
+		return tthits;
+	}
+
+	public long getBbhits(){
+		return bbhits;
+	}
+
+	public long getQnodes(){
+		return qnodes;
+	}
+
+	public long getResearches(){
+		return researches;
+	}
+
+	public int getSearchdepth(){
+		return searchdepth;
+	}
+
+	public boolean isBookmove(){
+		return bookmove;
+	}
+
+	public long getElapsed(){
+		return elapsed;
+	}
+
+	public long getTimetobest(){
+		return timetobest;
+	}
+
+	/**
+	 * Function nodesPerSecond(): the search speed, 0 if the search took no measurable time
+	 */
+	public long nodesPerSecond(){
+		return elapsed == 0 ? 0 : nodes * 1000000000L / elapsed;
+	}
+
+	/**
+	 * Function ttHitRate(): the percentage of transposition table lookups which found the position
+	 */
+	public long ttHitRate(){
+		return ttprobes == 0 ? 0 : 100L * tthits / ttprobes;
+	}
+
+	/**
+	 * Function toString(): the statistics for the game tree, one per line
+	 */
+	@Override
+	public String toString(){
+		String nl = System.lineSeparator();
+		return "Maximum depth of tree: "+ maxdepth + nl
+				+ "Cutoff level of the deepest completed iteration: " + searchdepth + nl
+				+ "Total number of nodes generated: " + nodes + nl
+				+ "Quiescence nodes after the cutoff level: " + qnodes + nl
+				+ "The number of times pruning occurred in the MAX_VALUE function: " + maxprun + nl
+				+ "The number of times pruning occurred in the MIN_VALUE function: " + minprun + nl
+				+ "Values taken from the transposition table: " + ttcutoffs + nl
+				+ "Positions found in the endgame bitbase: " + bbhits + nl
+				+ "Searches repeated with a wider window: " + researches + nl
+				+ "Transposition table hit rate: " + tthits + "/" + ttprobes + " (" + ttHitRate() + "%)" + nl
+				+ "Search time: " + elapsed / 1000000 + " ms, " + nodesPerSecond() + " nodes/s, best move found after " + timetobest / 1000000 + " ms";
+	}
+}
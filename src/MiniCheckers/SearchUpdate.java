@@ -0,0 +1,63 @@
+package MiniCheckers;
+
+/**
+ * This file defines the class SearchUpdate, the result of one completed iteration of a running search.
+ *
+ * depth : the cutoff level of the iteration
+ * value : the value of the position from the computer's point of view, CHANGETURN if the side to move must pass
+ * g : the board of the searched position
+ * act : the best action so far, in the encoding of class Position, 0 for a pass
+ * nodes : the nodes searched so far by all the workers
+ * elapsed : the time since the search started, in nanoseconds
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class SearchUpdate {
+
+	private final Geometry g;
+	private final int depth;
+	private final int value;
+	private final int act;
+	private final long nodes;
+	private final long elapsed;
+
+	public SearchUpdate(Geometry g, int depth, int value, int act, long nodes, long elapsed){
+		super();
+		this.g = g;
+		this.depth = depth;
+		this.value = value;
+		this.act = act;
+		this.nodes = nodes;
+		this.elapsed = elapsed;
+	}
+
+	public int getDepth(){
+		return depth;
+	}
+
+	public int getValue(){
+		return value;
+	}
+
+	public int getAct(){
+		return act;
+	}
+
+	public long getNodes(){
+		return nodes;
+	}
+
+	public long getElapsed(){
+		return elapsed;
+	}
+
+	public long nodesPerSecond(){
+		return (elapsed == 0) ? 0 : nodes * 1000000000L / elapsed;
+	}
+
+	@Override
+	public String toString(){
+		return "depth " + depth + ", value " + value + ", " + new SearchResult(g, act, value, null) + ", " + nodesPerSecond() + " nodes/s";
+	}
+}
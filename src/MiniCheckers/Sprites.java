@@ -0,0 +1,123 @@
+package MiniCheckers;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+/**
+ * This file defines the class Sprites, the cache of the images of the board and the pieces.
+ *
+ * Each image is read once from the classpath (the PNG files next to the package directory, e.g.
+ * /blackpiece.png), and kept scaled to the size it is painted at, as a BufferedImage compatible with
+ * the screen. So painting a square or the board only copies an image from memory; nothing is read from
+ * disk or scaled while painting, except the first time and when the window is resized, which replaces
+ * the scaled image.
+ * The cache is only used on the event dispatch thread, which does all the painting.
+ * The images are bundled with the game, so one which can not be read means a broken build: decode() throws
+ * IllegalStateException with its name instead of painting an empty square.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+final class Sprites {
+
+	final static public String BOARD = "boardbg.png";
+	final static public String HUMAN = "blackpiece.png";
+	final static public String COMPUTER = "whitepiece.png";
+	final static public String HTOEND = "blacktoend.png";
+	final static public String CTOEND = "whitetoend.png";
+
+	// the decoded images by name
+	final static private Map<String, BufferedImage> decoded = new HashMap<String, BufferedImage>();
+
+	// the scaled images by name, each at the size it was last painted at
+	final static private Map<String, BufferedImage> scaled = new HashMap<String, BufferedImage>();
+
+	private Sprites(){
+	}
+
+	/**
+	 * Function sprite(): the image of a kind of piece of Checkerboard, null for an empty square
+	 */
+	static String sprite(int pieceStatus){
+		switch(pieceStatus){
+			case Checkerboard.HUMAN:
+				return HUMAN;
+			case Checkerboard.COMPUTER:
+				return COMPUTER;
+			case Checkerboard.HTOEND:
+				return HTOEND;
+			case Checkerboard.CTOEND:
+				return CTOEND;
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Function get(): the image scaled to width x height
+	 * @param name: the file name of the image, e.g. BOARD
+	 * @param c: the component the image is painted on, to create an image compatible with its screen
+	 * @return the image, null if the size is empty
+	 * @throws IllegalStateException if the image is not on the classpath or can not be read
+	 */
+	static BufferedImage get(String name, int width, int height, Component c){
+		if(name == null || width <= 0 || height <= 0){
+			return null;
+		}
+		BufferedImage img = scaled.get(name);
+		if(img == null || img.getWidth() != width || img.getHeight() != height){
+			img = scale(decode(name), width, height, c.getGraphicsConfiguration());
+			scaled.put(name, img);
+		}
+		return img;
+	}
+
+	/**
+	 * Function decode(): read an image from the classpath, once
+	 * @throws IllegalStateException if the image is not on the classpath or can not be read
+	 */
+	private static BufferedImage decode(String name){
+		BufferedImage img = decoded.get(name);
+		if(img != null){
+			return img;
+		}
+		try (InputStream in = Sprites.class.getResourceAsStream("/" + name)){
+			if(in == null){
+				throw new IllegalStateException("Image not found on the classpath: " + name);
+			}
+			img = ImageIO.read(in);
+		} catch (IOException e){
+			throw new IllegalStateException("Image can not be read: " + name, e);
+		}
+		if(img == null){ // no reader for its format
+			throw new IllegalStateException("Image can not be read: " + name);
+		}
+		decoded.put(name, img);
+		return img;
+	}
+
+	/**
+	 * Function scale(): draw the image once at the given size into a new image
+	 * @param gc: the configuration of the screen, null if the component is not shown yet
+	 */
+	private static BufferedImage scale(BufferedImage src, int width, int height, GraphicsConfiguration gc){
+		BufferedImage img = (gc != null) ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+				: new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2 = img.createGraphics();
+		g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		g2.drawImage(src, 0, 0, width, height, null);
+		g2.dispose();
+		return img;
+	}
+}
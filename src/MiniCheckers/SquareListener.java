@@ -42,7 +42,7 @@ public class SquareListener implements MouseListener{
 		if(sq.isSelected()){
 			Checkers c = new Checkers();
 			boolean jumpmove;	
-			int[][] destb = new int[6][6];
+			int[][] destb = new int[Checkerboard.SIZE][Checkerboard.SIZE];
 			int[] startpos = db.getIndexofSquare(db.getActiveSquare());
 			int[] destpos = db.getIndexofSquare(sq);
 			
@@ -51,7 +51,7 @@ public class SquareListener implements MouseListener{
 				int[][] movablepieces = c.movablePieces(db.getBoard(), false);
 				ArrayList<int[]> acts = new ArrayList<int[]>();
 				
-				for(int i = 0; i < 6; i++){
+				for(int i = 0; i < Checkerboard.PIECES; i++){
 					if(movablepieces[i][0] == -1){
 						break;
 					}
@@ -0,0 +1,285 @@
+package MiniCheckers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This file defines the class Tournament, a command line tool that plays engine-vs-engine games without the GUI.
+ *
+ * Two players A and B, each an Engine with its own settings (difficulty level, cutoff depth, time per move),
+ * play games on a thread pool. Games are played in pairs: both games of a pair start from the same opening,
+ * made of a few random actions from the initial position (Checkerboard.init()), and A plays white (the
+ * computer side) in one of them and black in the other. The human side, black, moves first as in the GUI,
+ * and every turn follows the rules of the GUI (Position.turn()), so the games are those a player would see.
+ * The engines play without opening book and endgame bitbase, so only their settings differ.
+ * A game which fails (e.g. one that does not end) is not counted; run() reports it once all games are over.
+ *
+ * The result is given for A: wins, draws and losses, the score with its 95% confidence interval, the same
+ * as an Elo difference, the number of games per second and the average search speed of each player.
+ *
+ * Usage: Tournament [games, default 1000] [player A, default 3:6] [player B, default 2:6] [random actions, default 4]
+ *                   [threads, default the number of processors] [seed]
+ * A player is level:depth or level:depth:ms, e.g. 3:8 (hard, cutoff level 8) or 2:64:20 (medium, 20 ms per move),
+ * optionally followed by :pvs (principal variation search) and :noq (no quiescence search), e.g. 3:6:noq.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class Tournament {
+
+	// the transposition table of each engine has 2^TTBITS entries
+	final static public int TTBITS = 16;
+
+	/**
+	 * This class defines the settings of one player
+	 */
+	public static class Player {
+
+		final int difficultylevel;
+		final SearchLimits limits;
+		int mode = Search.ALPHABETA;
+		boolean quiescence = true;
+
+		public Player(int difficultylevel, SearchLimits limits){
+			super();
+			this.difficultylevel = difficultylevel;
+			this.limits = limits;
+		}
+
+		/**
+		 * Function parse(): read level:depth or level:depth:ms, and the options pvs and noq
+		 */
+		public static Player parse(String s){
+			String[] parts = s.split(":");
+			int level = Integer.parseInt(parts[0]);
+			int depth = parts.length > 1 ? Integer.parseInt(parts[1]) : Checkers.MAXDEPTH;
+			long ms = SearchLimits.NOTIMELIMIT;
+			int mode = Search.ALPHABETA;
+			boolean quiescence = true;
+			for(int i = 2; i < parts.length; i++){
+				if(parts[i].equals("pvs")){
+					mode = Search.PVS;
+				}
+				else if(parts[i].equals("noq")){
+					quiescence = false;
+				}
+				else{
+					ms = Long.parseLong(parts[i]);
+				}
+			}
+			Player p = new Player(level, new SearchLimits(ms, depth, 1));
+			p.mode = mode;
+			p.quiescence = quiescence;
+			return p;
+		}
+
+		/**
+		 * Function configure(): give an engine the search settings of this player
+		 */
+		void configure(Engine e){
+			e.setMode(mode);
+			e.setQuiescence(quiescence);
+		}
+
+		@Override
+		public String toString(){
+			return "level " + difficultylevel + ", depth " + limits.getDepthlimit()
+					+ (limits.getTimebudget() < SearchLimits.NOTIMELIMIT ? ", " + limits.getTimebudget() + " ms" : "")
+					+ (mode == Search.PVS ? ", pvs" : "") + (quiescence ? "" : ", no quiescence");
+		}
+	}
+
+	final static private int WINS = 0;
+	final static private int DRAWS = 1;
+	final static private int LOSSES = 2;
+
+	private final Player[] players;
+	private final int randomacts;
+	private final long seed;
+	private final Position start;
+
+	// per worker thread, the engines of A and B
+	private final ThreadLocal<Engine[]> engines = new ThreadLocal<Engine[]>(){
+		@Override
+		protected Engine[] initialValue(){
+			Engine[] e = new Engine[]{new Engine(players[0].difficultylevel, TTBITS), new Engine(players[1].difficultylevel, TTBITS)};
+			players[0].configure(e[0]);
+			players[1].configure(e[1]);
+			return e;
+		}
+	};
+
+	/**
+	 * Results, for A: wins, draws, losses; per player: nodes and search time in nanoseconds
+	 */
+	private final AtomicLongArray results = new AtomicLongArray(3);
+	private final AtomicLongArray nodes = new AtomicLongArray(2);
+	private final AtomicLongArray elapsed = new AtomicLongArray(2);
+	private long wallclock = 0;
+
+	/**
+	 * @param a, b: the settings of the two players
+	 * @param randomacts: the number of random actions of each opening
+	 * @param seed: the openings depend only on the seed
+	 */
+	public Tournament(Player a, Player b, int randomacts, long seed){
+		super();
+		this.players = new Player[]{a, b};
+		this.randomacts = randomacts;
+		this.seed = seed;
+		Checkerboard c = new Checkerboard();
+		c.init();
+		this.start = new Position(c.getBoard());
+	}
+
+	/**
+	 * Function run(): play the games on a pool of threads and wait for them
+	 * @throws ExecutionException if any game failed, with the failure of the first one; the other games are counted
+	 */
+	public void run(int games, int threads) throws InterruptedException, ExecutionException{
+		long begin = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		List<Future<?>> futures = new ArrayList<Future<?>>(games);
+		try {
+			for(int g = 0; g < games; g++){
+				final int game = g;
+				futures.add(pool.submit(new Runnable(){
+					@Override
+					public void run(){
+						play(game);
+					}
+				}));
+			}
+			ExecutionException failure = null;
+			int failed = 0;
+			for(Future<?> f : futures){
+				try {
+					f.get();
+				} catch (ExecutionException e) {
+					failed++;
+					if(failure == null){
+						failure = e;
+					}
+				}
+			}
+			if(failure != null){
+				throw new ExecutionException(failed + " of " + games + " games failed", failure.getCause());
+			}
+		} finally {
+			pool.shutdownNow();
+			wallclock += System.nanoTime() - begin;
+		}
+	}
+
+	/**
+	 * Function play(): play one game and count its result
+	 * @param game: the number of the game; games 2k and 2k+1 start from the same opening with the colors swapped
+	 */
+	void play(int game){
+		Engine[] engines = this.engines.get();
+		int white = game % 2; // the player of the computer side
+		Position p = new Position(start);
+		boolean computer = opening(p, new Random(seed + game / 2));
+		for(Engine e : engines){
+			e.clear();
+		}
+
+		int plies = 0;
+		while(p.terminalTest() == Checkers.NONTERMINAL){
+			int player = computer ? white : 1 - white;
+			SearchResult r = engines[player].search(p, computer, players[player].limits);
+			nodes.addAndGet(player, r.getStats().nodes);
+			elapsed.addAndGet(player, r.getStats().elapsed);
+			computer = p.turn(r.getAct(), computer);
+			if(++plies > 4 * Checkers.MAXDEPTH){ // every action advances a piece, so no game is that long
+				throw new IllegalStateException("Game " + game + " does not end");
+			}
+		}
+
+		int utility = p.terminalTest();
+		if(utility == Checkers.DRAW){
+			results.incrementAndGet(DRAWS);
+		}
+		else if((utility == Checkers.COMPUTERWIN) == (white == 0)){
+			results.incrementAndGet(WINS);
+		}
+		else{
+			results.incrementAndGet(LOSSES);
+		}
+	}
+
+	/**
+	 * Function opening(): take randomacts random turns from the initial position, the human side moving first
+	 * @param p: the initial position, changed in place
+	 * @return true if the computer side is to move after the opening
+	 */
+	private boolean opening(Position p, Random r){
+		int[] acts = new int[p.getGeometry().getMaxmoves()];
+		boolean computer = false;
+		for(int i = 0; i < randomacts && p.terminalTest() == Checkers.NONTERMINAL; i++){
+			int n = p.possibleActs(computer, acts);
+			computer = p.turn((n == 0) ? 0 : acts[r.nextInt(n)], computer);
+		}
+		return computer;
+	}
+
+	/**
+	 * Function print(): output the results of the games played so far
+	 */
+	public void print(){
+		long w = results.get(WINS);
+		long d = results.get(DRAWS);
+		long l = results.get(LOSSES);
+		long n = w + d + l;
+		if(n == 0){
+			return;
+		}
+
+		// score of A and its 95% confidence interval, from the variance of the game results
+		double score = (w + 0.5 * d) / n;
+		double variance = (w * (1 - score) * (1 - score) + d * (0.5 - score) * (0.5 - score) + l * score * score) / n;
+		double margin = 1.96 * Math.sqrt(variance / n);
+
+		System.out.println("A (" + players[0] + ") vs B (" + players[1] + "), " + randomacts + " random actions per opening");
+		System.out.printf("A: %d wins, %d draws, %d losses in %d games%n", w, d, l, n);
+		System.out.printf("Score of A: %.1f%% +- %.1f%% (95%% confidence), Elo difference %s [%s, %s]%n", 100 * score, 100 * margin,
+				elo(score), elo(score - margin), elo(score + margin));
+		System.out.printf("%.1f games/s on %d ms%n", n * 1e9 / Math.max(wallclock, 1), wallclock / 1000000);
+		for(int i = 0; i < 2; i++){
+			System.out.printf("%s: %d nodes/s%n", i == 0 ? "A" : "B", elapsed.get(i) == 0 ? 0 : nodes.get(i) * 1000000000L / elapsed.get(i));
+		}
+	}
+
+	private static String elo(double score){
+		if(score <= 0){
+			return "-inf";
+		}
+		else if(score >= 1){
+			return "+inf";
+		}
+		long elo = Math.round(-400 * Math.log10(1 / score - 1)); // rounded first, so a difference below 0.5 is 0, not "-0"
+		return (elo == 0) ? "0" : String.format("%+d", elo);
+	}
+
+	public static void main(String[] args) throws InterruptedException, ExecutionException{
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		Player a = Player.parse(args.length > 1 ? args[1] : "3:6");
+		Player b = Player.parse(args.length > 2 ? args[2] : "2:6");
+		int randomacts = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+		int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+		long seed = args.length > 5 ? Long.parseLong(args[5]) : 20170309L;
+
+		Tournament t = new Tournament(a, b, randomacts, seed);
+		try {
+			t.run(games, threads);
+		} finally {
+			t.print(); // the games which ended, also when some failed
+		}
+	}
+}
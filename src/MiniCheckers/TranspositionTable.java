@@ -0,0 +1,109 @@
+package MiniCheckers;
+
+/**
+ * This file defines the class TranspositionTable.
+ *
+ * Forward-only moves mean many move orders reach the same position, so the Alpha-Beta search remembers
+ * the result of every searched node in a fixed-size table indexed by the Zobrist key of the position
+ * (see Position.canonicalKey(): a position with the human to move is stored as its flipped position with
+ * the computer to move). When two keys fall into the same slot, the new result replaces the old one.
+ *
+ * The table is shared by the search workers without any lock: each slot keeps the key XOR the entry
+ * and the entry itself, so a slot torn by two workers writing at the same time no longer matches
+ * its key and is read as a miss.
+ *
+ * The packed entry:
+ *     bits 0-15 : the best action found in this node (0 means no action, e.g. the player had to pass)
+ *     bits 16-31: the value, as a signed short
+ *     bits 32-39: the depth, i.e. the number of levels searched below this node before the cutoff
+ *     bits 40-41: the bound type EXACT, LOWER or UPPER
+ *     bit  42   : set in every stored entry, so an entry is never 0
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class TranspositionTable {
+
+	/**
+	 * Define the bound types of a stored value:
+	 * EXACT : the value is the minimax value of the node
+	 * LOWER : the search was pruned because value >= beta, the real value is at least value
+	 * UPPER : no action reached alpha, the real value is at most value
+	 */
+	final static public int EXACT = 0;
+	final static public int LOWER = 1;
+	final static public int UPPER = 2;
+
+	final static private long STORED = 1L << 42;
+
+	private final long[] keys;
+	private final long[] entries;
+	private final int mask;
+
+	/**
+	 * @param bits: the table has 2^bits slots
+	 */
+	public TranspositionTable(int bits){
+		super();
+		keys = new long[1 << bits];
+		entries = new long[1 << bits];
+		mask = (1 << bits) - 1;
+	}
+
+	/**
+	 * Function probe(): look up a position in the table
+	 * @param key: the Zobrist key of the position and the side to move
+	 * @return the packed entry, or 0 if the position is not in the table
+	 */
+	public long probe(long key){
+		int i = (int) key & mask;
+		long entry = entries[i];
+		if(entry != 0 && (keys[i] ^ entry) == key){
+			return entry;
+		}
+		return 0;
+	}
+
+	/**
+	 * Function store(): save the result of a searched node
+	 * @param key: the Zobrist key of the position and the side to move
+	 * @param depth: the number of levels searched below this node
+	 * @param bound: EXACT, LOWER or UPPER
+	 * @param value: the value returned by the search
+	 * @param act: the best action found, 0 if none
+	 */
+	public void store(long key, int depth, int bound, int value, int act){
+		int i = (int) key & mask;
+		long entry = STORED | ((long) bound << 40) | ((long) depth << 32) | ((long) (value & 0xFFFF) << 16) | (act & 0xFFFF);
+		keys[i] = key ^ entry;
+		entries[i] = entry;
+	}
+
+	public void clear(){
+		java.util.Arrays.fill(keys, 0);
+		java.util.Arrays.fill(entries, 0);
+	}
+
+	/**
+	 * Function flipBound(): the bound type of a value seen from the other side, whose value is the negated one
+	 */
+	public static int flipBound(int bound){
+		return (bound == EXACT) ? EXACT : LOWER + UPPER - bound;
+	}
+
+	public static int act(long entry){
+		return (int) (entry & 0xFFFF);
+	}
+
+	public static int value(long entry){
+		return (short) (entry >>> 16);
+	}
+
+	public static int depth(long entry){
+		return (int) ((entry >>> 32) & 0xFF);
+	}
+
+	public static int bound(long entry){
+		return (int) ((entry >>> 40) & 3);
+	}
+}
@@ -0,0 +1,47 @@
+package MiniCheckers;
+
+/**
+ * This file defines the class Variants, a command line tool that runs the rules and the search on the bigger boards.
+ *
+ * For the 6x6, 8x8 and 10x10 boards (see Geometry): perft of the start position with the computer to move
+ * (class Perft) for every depth 1..n, then a search of the start position by an Engine with one thread to a
+ * fixed cutoff level. Every size runs the same Position and Search as the game, and both print their speed,
+ * so the cost of the bigger boards can be compared.
+ *
+ * Usage: Variants [perft depth, default 9] [cutoff level, default 12] [difficulty level, default 3]
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class Variants {
+
+	final static public int[] SIZES = {6, 8, 10};
+
+	public static void main(String[] args){
+		int perftdepth = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+		int depth = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+		int difficultylevel = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+		for(int size : SIZES){
+			Geometry g = Geometry.of(size);
+			Position start = Position.start(g);
+			System.out.println(g + ": " + g.getSquares() + " squares, " + g.getPieces() + " pieces a side");
+			System.out.printf("%-6s %14s %10s %14s%n", "depth", "positions", "ms", "positions/s");
+			for(int d = 1; d <= perftdepth; d++){
+				long begin = System.nanoTime();
+				long count = new Perft(g, d).perft(start, true, d);
+				long ns = Math.max(System.nanoTime() - begin, 1);
+				System.out.printf("%-6d %14d %10d %14d%n", d, count, ns / 1000000, count * 1000000000L / ns);
+			}
+
+			Engine engine = new Engine(difficultylevel);
+			SearchResult r = engine.search(start, true, new SearchLimits(SearchLimits.NOTIMELIMIT, depth, 1));
+			SearchStats stats = r.getStats();
+			long ns = Math.max(stats.elapsed, 1);
+			System.out.println("Search to cutoff level " + stats.searchdepth + ": " + r + ", value " + r.getValue()
+					+ ", " + stats.nodes + " nodes, " + stats.qnodes + " quiescence nodes, " + (ns / 1000000) + " ms, "
+					+ ((stats.nodes + stats.qnodes) * 1000000000L / ns) + " nodes/s");
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package MiniCheckers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This file defines the class BoardSizeTest, the tests of Position, Search and EndgameBitbase on every board size.
+ *
+ * The 6x6 board of the GUI is one Geometry among the others: its start position must be the board of
+ * Checkerboard.init(). The bigger boards must keep their perft counts, and the search and the bitbase must give
+ * the same answers on them as on the 6x6 board.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class BoardSizeTest {
+
+	// perft of Position.start() with the computer to move, for depth 0 to 7
+	final static private long[] PERFT4 = {1, 3, 9, 12, 16, 21, 28, 26};
+	final static private long[] PERFT8 = {1, 7, 49, 302, 1469, 7361, 36768, 180018};
+	final static private long[] PERFT10 = {1, 9, 81, 658, 4265, 26875, 164406, 1017496};
+
+	@Test
+	public void startOfTheGuiBoard(){
+		Position start = Position.start(Geometry.of(Checkerboard.SIZE));
+		assertEquals(SearchPositions.position(0), start);
+		assertEquals(SearchPositions.position(0).hash, start.hash);
+		assertTrue(Geometry.of(Checkerboard.SIZE) == SearchPositions.position(0).getGeometry());
+	}
+
+	@Test
+	public void perftOfEveryBoard(){
+		assertPerft(Geometry.of(4), PERFT4);
+		assertPerft(Geometry.of(Checkerboard.SIZE), Arrays.copyOf(Perft.REFERENCE, 8));
+		assertPerft(Geometry.of(8), PERFT8);
+		assertPerft(Geometry.of(10), PERFT10);
+	}
+
+	@Test
+	public void startPositions(){
+		for(int size = Geometry.MINSIZE; size <= Geometry.MAXSIZE; size += 2){
+			Geometry g = Geometry.of(size);
+			Position start = Position.start(g);
+			assertEquals(g.getPieces(), start.whiteNum());
+			assertEquals(g.getPieces(), start.blackNum());
+			assertEquals(start, new Position(start.toBoard()));
+			assertEquals(start, start.flip());
+		}
+	}
+
+	@Test
+	public void searchOnBiggerBoards(){
+		for(int size = 8; size <= Geometry.MAXSIZE; size += 2){
+			Position start = Position.start(Geometry.of(size));
+			for(int cutoff = 1; cutoff <= 5; cutoff++){
+				Engine alphabeta = new Engine(3, 16);
+				Engine pvs = new Engine(3, 16);
+				pvs.setMode(Search.PVS);
+				SearchResult r = alphabeta.search(start, true, SearchLimits.depth(cutoff));
+				assertEquals(r.getValue(), pvs.search(start, true, SearchLimits.depth(cutoff)).getValue(), size + "x" + size + ", cutoff " + cutoff);
+				assertTrue(start.isLegal(r.getAct(), true));
+				assertEquals(r.getAct(), start.act(r.getStartpos(), r.getDestpos()));
+				assertEquals(start.Move(r.getAct(), true), r.apply(start, true));
+			}
+		}
+	}
+
+	@Test
+	public void searchOfTheIntBoard(){
+		for(int size = Geometry.MINSIZE; size <= Geometry.MAXSIZE; size += 2){
+			Position start = Position.start(Geometry.of(size));
+			SearchResult fromboard = new Engine(2, 16).search(start.toBoard(), false, SearchLimits.depth(4));
+			SearchResult fromposition = new Engine(2, 16).search(start, false, SearchLimits.depth(4));
+			assertEquals(fromposition.getValue(), fromboard.getValue());
+			assertArrayEquals(fromposition.getStartpos(), fromboard.getStartpos());
+			assertArrayEquals(fromposition.getDestpos(), fromboard.getDestpos());
+		}
+	}
+
+	@Test
+	public void bitbaseOfTheBiggerBoard(){
+		Geometry g = Geometry.of(8);
+		EndgameBitbase bitbase = EndgameBitbase.generate(g, 3);
+		assertFalse(bitbase.covers(SearchPositions.position(4)));
+		for(RandomPositions rp : RandomPositions.endgames(g, 100, 3, 8)){
+			assertTrue(bitbase.covers(rp.position));
+			assertEquals(EndgameBitbaseTest.exact(rp.position, rp.computer), bitbase.probe(rp.position, rp.computer));
+		}
+	}
+
+	private static void assertPerft(Geometry g, long[] counts){
+		Position start = Position.start(g);
+		for(int d = 0; d < counts.length; d++){
+			assertEquals(counts[d], new Perft(g, d).perft(start, true, d), g + ", perft " + d);
+		}
+	}
+}
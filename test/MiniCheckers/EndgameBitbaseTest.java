@@ -0,0 +1,122 @@
+package MiniCheckers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This file defines the class EndgameBitbaseTest, the tests of the endgame bitbase against the search.
+ *
+ * A bitbase of the 6x6 board with up to MAXPIECES pieces is generated once. On random positions it covers,
+ * its value must be the exact value the search finds without it, for either side to move, and the search
+ * must find the same value with it.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class EndgameBitbaseTest {
+
+	final static private int MAXPIECES = 4;
+	final static private int SAMPLES = 200;
+
+	private static EndgameBitbase bitbase;
+	private static List<RandomPositions> positions;
+
+	@BeforeAll
+	public static void generate(){
+		Geometry g = Geometry.of(Checkerboard.SIZE);
+		bitbase = EndgameBitbase.generate(g, MAXPIECES);
+		positions = RandomPositions.endgames(g, SAMPLES, MAXPIECES, 7);
+	}
+
+	@Test
+	public void probeMatchesExactSearch(){
+		for(RandomPositions rp : positions){
+			assertEquals(exact(rp.position, rp.computer), bitbase.probe(rp.position, rp.computer), Arrays.deepToString(rp.position.toBoard()));
+		}
+	}
+
+	@Test
+	public void searchWithBitbaseFindsTheSameValue(){
+		for(RandomPositions rp : positions){
+			Engine engine = new Engine(3);
+			engine.setBitbase(bitbase);
+			SearchResult with = engine.search(rp.position, rp.computer, SearchLimits.depth(Checkers.MAXDEPTH));
+			SearchResult without = new Engine(3).search(rp.position, rp.computer, SearchLimits.depth(Checkers.MAXDEPTH));
+			assertEquals(without.getValue(), with.getValue());
+			assertEquals(without.getAct() == 0, with.getAct() == 0);
+		}
+	}
+
+	@Test
+	public void writeAndOpenKeepTheValues(@TempDir File dir) throws IOException{
+		File file = new File(dir, EndgameBitbase.FILENAME);
+		bitbase.write(file);
+		EndgameBitbase opened = EndgameBitbase.open(file);
+		assertEquals(bitbase.getGeometry(), opened.getGeometry());
+		assertEquals(MAXPIECES, opened.getMaxpieces());
+		for(RandomPositions rp : positions){
+			assertEquals(bitbase.probe(rp.position, rp.computer), opened.probe(rp.position, rp.computer));
+		}
+	}
+
+	@Test
+	public void openRejectsABadHeader(@TempDir File dir) throws IOException{
+		assertNotABitbase(dir, "size", 7, MAXPIECES);
+		assertNotABitbase(dir, "maxpieces", Checkerboard.SIZE, EndgameBitbase.MAXPIECES + 1);
+		assertNotABitbase(dir, "toobig", Geometry.MAXSIZE, EndgameBitbase.MAXPIECES);
+	}
+
+	/**
+	 * Function assertNotABitbase(): open() rejects a file with the magic number, the board size and maxpieces
+	 */
+	private static void assertNotABitbase(File dir, String name, int size, int maxpieces) throws IOException{
+		final File file = new File(dir, name);
+		try(DataOutputStream out = new DataOutputStream(new FileOutputStream(file))){
+			out.writeInt(EndgameBitbase.MAGIC);
+			out.writeInt(size);
+			out.writeInt(maxpieces);
+		}
+		assertThrows(IOException.class, new Executable(){
+			@Override
+			public void execute() throws IOException{
+				EndgameBitbase.open(file);
+			}
+		});
+	}
+
+	@Test
+	public void coversOnlyItsBoardAndPieces(){
+		assertFalse(bitbase.covers(SearchPositions.position(0)));
+		assertFalse(bitbase.covers(Position.start(Geometry.of(4))));
+		for(RandomPositions rp : positions){
+			assertTrue(bitbase.covers(rp.position));
+		}
+	}
+
+	/**
+	 * Function exact(): the value of a position by a search without bitbase to the end of the game;
+	 * a side without legal action passes, as in the bitbase
+	 */
+	static int exact(Position p, boolean computer){
+		int v = p.terminalTest();
+		if(v != Checkers.NONTERMINAL){
+			return v;
+		}
+		SearchResult r = new Engine(3, 16).search(p, computer, SearchLimits.depth(Checkers.MAXDEPTH));
+		return r.isPass() ? exact(p.pass(computer), !computer) : r.getValue();
+	}
+}
@@ -0,0 +1,108 @@
+package MiniCheckers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This file defines the class FlipTest, the tests of the color-flip symmetry used by the caches.
+ *
+ * A position with the human to move and its flipped position (Position.flip()) with the computer to move are
+ * the same game seen from the other side: they must share their canonical key, their actions must map onto
+ * each other by flipAct(), and their utilities and evaluations must have opposite signs.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class FlipTest {
+
+	final static private int[] SIZES = {6, 8, 10};
+
+	@Test
+	public void flipTwiceIsTheSamePosition(){
+		for(int size : SIZES){
+			for(RandomPositions rp : RandomPositions.games(Geometry.of(size), 10, size)){
+				Position p = rp.position;
+				Position back = p.flip().flip();
+				assertEquals(p, back);
+				assertEquals(p.hash, back.hash);
+				assertEquals(p.fliphash, back.fliphash);
+			}
+		}
+	}
+
+	@Test
+	public void fliphashIsTheHashOfTheFlippedPosition(){
+		for(int size : SIZES){
+			for(RandomPositions rp : RandomPositions.games(Geometry.of(size), 10, size)){
+				Position p = rp.position;
+				Position f = p.flip();
+				assertEquals(p.fliphash, f.computeHash());
+				assertEquals(p.canonicalKey(false), f.canonicalKey(true));
+				assertEquals(p.canonicalKey(true), f.canonicalKey(false));
+			}
+		}
+	}
+
+	@Test
+	public void actionsMapOntoTheFlippedPosition(){
+		for(int size : SIZES){
+			Geometry g = Geometry.of(size);
+			int[] acts = new int[g.maxmoves];
+			int[] flipped = new int[g.maxmoves];
+			for(RandomPositions rp : RandomPositions.games(g, 10, size)){
+				Position p = rp.position;
+				Position f = p.flip();
+				int n = p.possibleActs(rp.computer, acts);
+				assertEquals(n, f.possibleActs(!rp.computer, flipped));
+				for(int a = 0; a < n; a++){
+					assertEquals(acts[a], p.flipAct(p.flipAct(acts[a])));
+					acts[a] = p.flipAct(acts[a]);
+				}
+				Arrays.sort(acts, 0, n);
+				Arrays.sort(flipped, 0, n);
+				assertTrue(Arrays.equals(acts, 0, n, flipped, 0, n));
+				for(int a = 0; a < n; a++){
+					assertEquals(p.Move(p.flipAct(acts[a]), rp.computer).flip(), f.Move(acts[a], !rp.computer));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void utilitiesAndEvaluationsChangeSign(){
+		Search[] levels = new Search[4];
+		for(int level = 1; level <= 3; level++){
+			levels[level] = new Search(0, SearchPositions.position(0), level, new TranspositionTable(4), Long.MAX_VALUE, new AtomicBoolean(false));
+		}
+		for(RandomPositions rp : RandomPositions.games(Geometry.of(Checkerboard.SIZE), 20, 24)){
+			Position p = rp.position;
+			Position f = p.flip();
+			int v = p.terminalTest();
+			if(v != Checkers.NONTERMINAL){
+				assertEquals(-v, f.terminalTest());
+				continue;
+			}
+			assertEquals(Checkers.NONTERMINAL, f.terminalTest());
+			for(int level = 2; level <= 3; level++){ // the easy level does not score the sides the same way
+				assertEquals(-levels[level].evaluation(p, true), levels[level].evaluation(f, true), "level " + level);
+			}
+		}
+	}
+
+	@Test
+	public void humanSearchIsTheFlippedComputerSearch(){
+		for(int i = 0; i < SearchPositions.NAMES.length; i++){
+			Position p = SearchPositions.position(i).flip();
+			SearchResult human = new Engine(3).search(p, false, SearchLimits.depth(8));
+			SearchResult computer = new Engine(3).search(p.flip(), true, SearchLimits.depth(8));
+			assertEquals(computer.getValue() == Checkers.CHANGETURN ? Checkers.CHANGETURN : -computer.getValue(), human.getValue(), SearchPositions.NAMES[i]);
+			assertEquals(p.flipAct(computer.getAct()), human.getAct(), SearchPositions.NAMES[i]);
+			assertTrue(human.isPass() || p.isLegal(human.getAct(), false), SearchPositions.NAMES[i]);
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package MiniCheckers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This file defines the class GameRecordTest, the tests of the binary game records.
+ *
+ * Random games are played under the turn rules of the GUI (Position.turn()), written and read back: every game
+ * must come back with the same settings, actions, engine statistics, final position and result.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class GameRecordTest {
+
+	final static private int GAMES = 50;
+
+	// the most turns of a random game, in case it does not end
+	final static private int MAXTURNS = 200;
+
+	@Test
+	public void writeAndReadRoundTrip() throws IOException{
+		List<GameRecord> games = randomGames(GAMES, 25);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for(GameRecord game : games){
+			game.write(out);
+		}
+
+		InputStream in = new ByteArrayInputStream(out.toByteArray());
+		GameRecord read = new GameRecord();
+		for(GameRecord game : games){
+			assertTrue(read.read(in));
+			assertSameGame(game, read);
+		}
+		assertFalse(read.read(in));
+	}
+
+	@Test
+	public void appendedGamesAreReadFromTheFile(@TempDir File dir) throws IOException{
+		File file = new File(dir, GameRecord.FILENAME);
+		List<GameRecord> games = randomGames(5, 26);
+		for(GameRecord game : games){
+			game.append(file);
+		}
+
+		try(InputStream in = new BufferedInputStream(new FileInputStream(file))){
+			GameRecord.readMagic(in);
+			GameRecord read = new GameRecord();
+			for(GameRecord game : games){
+				assertTrue(read.read(in));
+				assertSameGame(game, read);
+			}
+			assertFalse(read.read(in));
+		}
+	}
+
+	@Test
+	public void cutOffRecordIsAnError() throws IOException{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		randomGames(1, 27).get(0).write(out);
+		final byte[] cut = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+		assertThrows(EOFException.class, new Executable(){
+			@Override
+			public void execute() throws IOException{
+				new GameRecord().read(new ByteArrayInputStream(cut));
+			}
+		});
+	}
+
+	@Test
+	public void wrongMagicIsAnError(){
+		assertThrows(IOException.class, new Executable(){
+			@Override
+			public void execute() throws IOException{
+				GameRecord.readMagic(new ByteArrayInputStream(new byte[]{1, 2, 3, 4}));
+			}
+		});
+	}
+
+	@Test
+	public void illegalActionIsNotWritten(){
+		final GameRecord game = new GameRecord();
+		game.start(2, true);
+		game.acts[0] = Position.act(0, 1); // not a move of the rules
+		game.turns = 1;
+		assertThrows(IllegalStateException.class, new Executable(){
+			@Override
+			public void execute() throws IOException{
+				game.write(new ByteArrayOutputStream());
+			}
+		});
+	}
+
+	/**
+	 * Function randomGames(): games of random legal actions, with made-up engine statistics
+	 */
+	private static List<GameRecord> randomGames(int n, long seed){
+		Random r = new Random(seed);
+		List<GameRecord> games = new ArrayList<GameRecord>();
+		int[] legal = new int[Geometry.of(Checkerboard.SIZE).getMaxmoves()];
+		for(int i = 0; i < n; i++){
+			GameRecord game = new GameRecord();
+			game.start(1 + r.nextInt(3), r.nextBoolean());
+			while(game.getResult() == Checkers.NONTERMINAL && game.getTurns() < MAXTURNS){
+				int count = game.position.possibleActs(game.computer, legal);
+				int act = (count == 0) ? 0 : legal[r.nextInt(count)];
+				game.add(act, r.nextInt(5000), (long) r.nextInt(Integer.MAX_VALUE) * r.nextInt(1000));
+			}
+			games.add(game);
+		}
+		return games;
+	}
+
+	private static void assertSameGame(GameRecord expected, GameRecord game){
+		assertEquals(expected.getDifficultylevel(), game.getDifficultylevel());
+		assertEquals(expected.isComputerfirst(), game.isComputerfirst());
+		assertEquals(expected.getTurns(), game.getTurns());
+		assertArrayEquals(Arrays.copyOf(expected.acts, expected.getTurns()), Arrays.copyOf(game.acts, game.getTurns()));
+		assertEquals(expected.getComputerturns(), game.getComputerturns());
+		for(int t = 0; t < expected.getComputerturns(); t++){
+			assertEquals(expected.getMs(t), game.getMs(t));
+			assertEquals(expected.getNodes(t), game.getNodes(t));
+		}
+		assertEquals(expected.position, game.position);
+		assertEquals(expected.computer, game.computer);
+		assertEquals(expected.getResult(), game.getResult());
+	}
+}
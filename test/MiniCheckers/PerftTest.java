@@ -0,0 +1,53 @@
+package MiniCheckers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This file defines the class PerftTest, the tests of the move generator against the counts of Perft.REFERENCE.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class PerftTest {
+
+	// the deepest reference count checked, deeper ones take too long for every build
+	final static private int DEPTH = 11;
+
+	@Test
+	public void openingMatchesReference(){
+		Position opening = SearchPositions.position(0);
+		for(int d = 0; d <= DEPTH; d++){
+			assertEquals(Perft.REFERENCE[d], new Perft(opening.g, d).perft(opening, true, d), "perft " + d);
+		}
+	}
+
+	@Test
+	public void perftRestoresThePosition(){
+		Position p = SearchPositions.position(0);
+		Position copy = new Position(p);
+		new Perft(p.g, DEPTH).perft(p, true, DEPTH);
+		assertEquals(copy, p);
+		assertEquals(copy.hash, p.hash);
+		assertEquals(copy.fliphash, p.fliphash);
+	}
+
+	@Test
+	public void parallelMatchesReference(){
+		Position opening = SearchPositions.position(0);
+		assertEquals(Perft.REFERENCE[DEPTH], new Perft(opening.g, DEPTH).parallelPerft(ForkJoinPool.commonPool(), opening, true, DEPTH));
+	}
+
+	@Test
+	public void divideAddsUpToReference(){
+		Position opening = SearchPositions.position(0);
+		long sum = 0;
+		for(long[] line : new Perft(opening.g, DEPTH).divide(opening, true, DEPTH)){
+			sum += line[1];
+		}
+		assertEquals(Perft.REFERENCE[DEPTH], sum);
+	}
+}
@@ -0,0 +1,89 @@
+package MiniCheckers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This file defines the class PositionTest, the tests of the in-place changes of Position and of its Zobrist hash.
+ *
+ * On the positions of random games, every action and every pass is taken with make()/makePass() and taken back
+ * with unmake()/unmakePass(): the position and both hashes must be the same as before, and the hashes kept up to
+ * date on the way must be the ones computed from scratch.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class PositionTest {
+
+	final static private int[] SIZES = {6, 8, 10};
+
+	@Test
+	public void makeUnmakeRestoresThePosition(){
+		for(int size : SIZES){
+			Geometry g = Geometry.of(size);
+			int[] acts = new int[g.maxmoves];
+			for(RandomPositions rp : RandomPositions.games(g, 20, size)){
+				Position p = new Position(rp.position);
+				int n = p.possibleActs(rp.computer, acts);
+				for(int a = 0; a < n; a++){
+					int captured = p.make(acts[a], rp.computer);
+					assertEquals(rp.position.Move(acts[a], rp.computer), p);
+					assertHashes(p);
+					p.unmake(acts[a], rp.computer, captured);
+					assertSame(rp.position, p);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void makePassUnmakePassRestoresThePosition(){
+		for(int size : SIZES){
+			for(RandomPositions rp : RandomPositions.games(Geometry.of(size), 20, size)){
+				Position p = new Position(rp.position);
+				long movers = p.makePass(rp.computer);
+				assertEquals(0, p.movablePieces(rp.computer));
+				assertHashes(p);
+				p.unmakePass(rp.computer, movers);
+				assertSame(rp.position, p);
+			}
+		}
+	}
+
+	@Test
+	public void boardRoundTrip(){
+		for(int size : SIZES){
+			for(RandomPositions rp : RandomPositions.games(Geometry.of(size), 5, size)){
+				assertSame(rp.position, new Position(rp.position.toBoard()));
+			}
+		}
+	}
+
+	@Test
+	public void keyDependsOnTheSideToMove(){
+		Position p = SearchPositions.position(0);
+		assertNotEquals(p.key(true), p.key(false));
+		assertEquals(p.key(true), p.canonicalKey(true));
+	}
+
+	/**
+	 * Function assertHashes(): both hashes of p are the ones computed from its pieces
+	 */
+	private static void assertHashes(Position p){
+		assertEquals(p.computeHash(), p.hash, "hash");
+		Position scratch = new Position(p);
+		scratch.rehash();
+		assertEquals(scratch.fliphash, p.fliphash, "fliphash");
+	}
+
+	/**
+	 * Function assertSame(): p has the pieces and the hashes of expected
+	 */
+	private static void assertSame(Position expected, Position p){
+		assertEquals(expected, p);
+		assertEquals(expected.hash, p.hash, "hash");
+		assertEquals(expected.fliphash, p.fliphash, "fliphash");
+	}
+}
@@ -0,0 +1,86 @@
+package MiniCheckers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This file defines the class QuiescenceTest, the tests of the quiescence search at the cutoff level.
+ *
+ * On the tactical positions below, the computer is to move and a jump is forced right after the cutoff
+ * level 1, so the search without quiescence evaluates a position in the middle of an exchange. The quiescence
+ * search plays the jumps on: at cutoff level 1 it must find the value the search without quiescence only
+ * finds at cutoff levels 3 and 5, where the exchange is over.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class QuiescenceTest {
+
+	final static private int[][][] TACTICAL = {
+		{{0, 0, 0, 0, 0, 0},
+		 {-1,0, 0, 0, 0, 0},
+		 {0, 0, 0, 1, 0, 0},
+		 {0, 0, 1, 0, 0, 0},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 0, 0, 0, 0, 0}},
+		{{0, 3, 0, 0, 0,-1},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 0, 0, 1, 0, 0},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 0,-3, 0,-3, 0}},
+		{{0, 0, 0,-1, 0, 0},
+		 {-1,0,-1, 0,-1, 0},
+		 {0,-1, 0, 0, 0,-1},
+		 {1, 0, 1, 0, 1, 0},
+		 {0, 0, 0, 1, 0, 0},
+		 {1, 0, 0, 0, 1, 0}},
+		{{0, 0, 0, 0, 0, 0},
+		 {-1,0, 0, 0, 0, 0},
+		 {0, 0, 0, 0, 0, 1},
+		 {0, 0, 1, 0, 0, 0},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 0, 0, 0,-3, 0}},
+		{{0, 0, 0, 0, 0, 3},
+		 {0, 0, 1, 0, 0, 0},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 0, 0, 0,-1, 0},
+		 {0, 0, 0,-1, 0, 1},
+		 {0, 0, 0, 0, 0, 0}},
+		{{0, 3, 0, 3, 0, 0},
+		 {0, 0, 1, 0, 0, 0},
+		 {0, 0, 0, 0, 0,-1},
+		 {0, 0, 0, 0, 0, 0},
+		 {0, 1, 0, 1, 0, 0},
+		 {0, 0, 0, 0,-3, 0}},
+	};
+
+	@Test
+	public void quiescenceFindsTheValueOfDeeperSearches(){
+		for(int i = 0; i < TACTICAL.length; i++){
+			Position p = new Position(TACTICAL[i]);
+			int quiescence = value(p, 1, true);
+			assertNotEquals(value(p, 1, false), quiescence, "tactical " + i + ": no exchange at the cutoff level");
+			assertEquals(value(p, 3, false), quiescence, "tactical " + i + ", cutoff 3");
+			assertEquals(value(p, 5, false), quiescence, "tactical " + i + ", cutoff 5");
+			assertEquals(value(p, 3, true), quiescence, "tactical " + i + ", cutoff 3 with quiescence");
+		}
+	}
+
+	@Test
+	public void quietPositionsAreEvaluatedAsTheyAre(){
+		Position opening = SearchPositions.position(0); // one computer move does not bring any two pieces next to each other
+		assertEquals(value(opening, 1, false), value(opening, 1, true));
+	}
+
+	/**
+	 * Function value(): the root value of a search up to the cutoff level with the computer to move, hard level
+	 */
+	private static int value(Position p, int cutoff, boolean quiescence){
+		Engine engine = new Engine(3, 16);
+		engine.setQuiescence(quiescence);
+		return engine.search(p, true, SearchLimits.depth(cutoff)).getValue();
+	}
+}
@@ -0,0 +1,101 @@
+package MiniCheckers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This file defines the class RandomPositions, the positions of random games and random endgames for the tests.
+ *
+ * A game starts from Position.start() with a random side to move and takes random legal actions, or passes,
+ * the way the search does (Position.make()/makePass()), until the game ends. The seed is fixed, so the tests
+ * see the same positions in every run.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class RandomPositions {
+
+	/**
+	 * A position of a random game:
+	 * position : a copy of the position, computer : true if the computer is to move in it
+	 */
+	final Position position;
+	final boolean computer;
+
+	RandomPositions(Position position, boolean computer){
+		super();
+		this.position = position;
+		this.computer = computer;
+	}
+
+	/**
+	 * Function games(): every position of some random games, the final positions included
+	 * @param g: the board of the games
+	 * @param games: the number of games
+	 * @param seed: the seed of the random actions
+	 */
+	static List<RandomPositions> games(Geometry g, int games, long seed){
+		Random r = new Random(seed);
+		List<RandomPositions> positions = new ArrayList<RandomPositions>();
+		int[] acts = new int[g.maxmoves];
+		for(int game = 0; game < games; game++){
+			Position p = Position.start(g);
+			boolean computer = r.nextBoolean();
+			while(true){
+				positions.add(new RandomPositions(new Position(p), computer));
+				int expansion = p.expand(computer, acts);
+				if((expansion & Position.TERMINAL) != 0){
+					break;
+				}
+				int n = expansion & Position.COUNT;
+				if(n == 0){
+					p.makePass(computer);
+				}
+				else{
+					p.make(acts[r.nextInt(n)], computer);
+				}
+				computer = !computer;
+			}
+		}
+		return positions;
+	}
+
+	/**
+	 * Function endgames(): random positions with 2 to maxpieces pieces which are not terminal, with a random
+	 * side to move; the pieces on the row where they reach the end of the board are end pieces
+	 */
+	static List<RandomPositions> endgames(Geometry g, int n, int maxpieces, long seed){
+		Random r = new Random(seed);
+		List<RandomPositions> endgames = new ArrayList<RandomPositions>();
+		while(endgames.size() < n){
+			Position p = new Position(g);
+			int k = 2 + r.nextInt(maxpieces - 1);
+			while(Long.bitCount(p.occupied()) < k){
+				long bit = 1L << r.nextInt(g.squares);
+				if((p.occupied() & bit) != 0){
+					continue;
+				}
+				switch(r.nextInt(4)){
+					case Position.HUMANKIND:
+						p.human |= ((bit & g.toprow) != 0) ? 0 : bit;
+						break;
+					case Position.COMPUTERKIND:
+						p.computer |= ((bit & g.bottomrow) != 0) ? 0 : bit;
+						break;
+					case Position.HTOENDKIND:
+						p.htoend |= bit;
+						break;
+					default:
+						p.ctoend |= bit;
+						break;
+				}
+			}
+			p.rehash();
+			if(p.terminalTest() == Checkers.NONTERMINAL){
+				endgames.add(new RandomPositions(p, r.nextBoolean()));
+			}
+		}
+		return endgames;
+	}
+}
@@ -0,0 +1,51 @@
+package MiniCheckers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This file defines the class SearchModeTest, the tests of principal variation search against plain Alpha-Beta.
+ *
+ * Both modes must find the same root value at every cutoff level, for every difficulty level, on the positions
+ * of SearchPositions and of random games, with either side to move.
+ *
+ * @author Shuangshuang Shen
+ *
+ */
+public class SearchModeTest {
+
+	final static private int MAXCUTOFF = 9;
+
+	@Test
+	public void pvsMatchesAlphaBetaOnSearchPositions(){
+		for(int i = 0; i < SearchPositions.NAMES.length; i++){
+			Position p = SearchPositions.position(i);
+			for(int level = 1; level <= 3; level++){
+				for(int cutoff = 1; cutoff <= MAXCUTOFF; cutoff++){
+					assertEquals(value(p, true, level, cutoff, Search.ALPHABETA), value(p, true, level, cutoff, Search.PVS),
+							SearchPositions.NAMES[i] + ", level " + level + ", cutoff " + cutoff);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void pvsMatchesAlphaBetaOnRandomPositions(){
+		int i = 0;
+		for(RandomPositions rp : RandomPositions.games(Geometry.of(Checkerboard.SIZE), 10, 16)){
+			int cutoff = 1 + (i++ % MAXCUTOFF);
+			assertEquals(value(rp.position, rp.computer, 3, cutoff, Search.ALPHABETA), value(rp.position, rp.computer, 3, cutoff, Search.PVS),
+					"position " + i + ", cutoff " + cutoff);
+		}
+	}
+
+	/**
+	 * Function value(): the root value of a search up to the cutoff level, from an empty transposition table
+	 */
+	private static int value(Position p, boolean computer, int level, int cutoff, int mode){
+		Engine engine = new Engine(level, 16);
+		engine.setMode(mode);
+		return engine.search(p, computer, SearchLimits.depth(cutoff)).getValue();
+	}
+}